@@ -0,0 +1,80 @@
+// ---------------------------
+// File: src/bench/java/io/github/game/bench/AtlasLoadBenchmark.java
+// ---------------------------
+package io.github.game.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import io.github.game.util.AtlasPacker;
+
+/**
+ * Cold-start sprite decode: every sprite as its own PNG against the single
+ * packed atlas.
+ * <p>
+ * Each mode has to run in a fresh JVM, otherwise the second one profits from
+ * the warmed-up decoder, e.g.
+ * {@code mvn -Pbench compile exec:java -Dexec.mainClass=io.github.game.bench.AtlasLoadBenchmark -Dexec.args=separate}
+ * and again with {@code -Dexec.args=atlas}.
+ */
+public class AtlasLoadBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        String mode = args.length > 0 ? args[0] : "atlas";
+        List<String> paths = spritePaths();
+
+        long start = System.nanoTime();
+        int decoded = 0;
+        if (mode.equals("separate")) {
+            for (String path : paths) {
+                decode(path);
+                decoded++;
+            }
+        } else {
+            decode(AtlasPacker.ATLAS_IMAGE);
+            decoded = 1;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-8s %d sprites from %d image(s) in %.2f ms%n",
+                mode, paths.size(), decoded, elapsed / 1e6);
+    }
+
+    /**
+     * Reads the sprite paths from the atlas index, so both modes load the
+     * same set of sprites.
+     */
+    private static List<String> spritePaths() throws IOException {
+        List<String> paths = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                open(AtlasPacker.ATLAS_INDEX), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank())
+                    paths.add(line.substring(0, line.indexOf(' ')));
+            }
+        }
+        return paths;
+    }
+
+    private static void decode(String path) throws IOException {
+        try (InputStream in = open(path)) {
+            if (ImageIO.read(in) == null)
+                throw new IOException("Not an image: " + path);
+        }
+    }
+
+    private static InputStream open(String path) throws IOException {
+        InputStream in = AtlasLoadBenchmark.class.getClassLoader().getResourceAsStream(path);
+        if (in == null)
+            throw new IOException("Missing resource: " + path);
+        return in;
+    }
+}
@@ -0,0 +1,69 @@
+// ---------------------------
+// File: src/bench/java/io/github/game/bench/CatchUpBenchmark.java
+// ---------------------------
+package io.github.game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.game.crops.CropStore;
+import io.github.game.crops.Tomato;
+import io.github.game.crops.Wheat;
+
+/**
+ * Catching up on many days: one rollover per day against the closed-form
+ * {@link CropStore#advanceDays(int)}. Day counts start at the store's
+ * wheel size, below which {@code advanceDays} rolls over day by day too.
+ * <p>
+ * Every call runs once on freshly planted crops; a second call on the same
+ * store would time a fully grown farm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CatchUpBenchmark {
+
+    @Param({ "1000000" })
+    public int crops;
+
+    @Param({ "64", "365" })
+    public int days;
+
+    private CropStore store;
+
+    // Seedlings before every call; not part of the measured time
+    @Setup(Level.Invocation)
+    public void setup() {
+        store = new CropStore();
+        for (int i = 0; i < crops; i++) {
+            store.attach(i % 2 == 0 ? new Wheat() : new Tomato());
+        }
+        store.setParallelThreshold(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public void dayByDay() {
+        for (int d = 0; d < days; d++)
+            store.advanceDay();
+    }
+
+    @Benchmark
+    public void closedForm() {
+        store.advanceDays(days);
+    }
+}
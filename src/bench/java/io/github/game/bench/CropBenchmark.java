@@ -0,0 +1,65 @@
+// ---------------------------
+// File: src/bench/java/io/github/game/bench/CropBenchmark.java
+// ---------------------------
+package io.github.game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.game.crops.Crop;
+import io.github.game.crops.CropStore;
+import io.github.game.crops.Wheat;
+
+/**
+ * Per-crop growth calls on a crop with its own fields and on a crop held
+ * in a {@link CropStore}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CropBenchmark {
+
+    private Crop detached;
+    private Crop attached;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        detached = new Wheat();
+        attached = new Wheat();
+        new CropStore().attach(attached);
+    }
+
+    @Benchmark
+    public void detachedNewDay() {
+        detached.onNewDay();
+    }
+
+    @Benchmark
+    public void attachedNewDay() {
+        attached.onNewDay();
+    }
+
+    @Benchmark
+    public void detachedMonth() {
+        detached.advanceDays(30);
+    }
+
+    @Benchmark
+    public int attachedStage() {
+        return attached.getGrowthStage();
+    }
+}
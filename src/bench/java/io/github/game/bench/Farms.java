@@ -0,0 +1,44 @@
+// ---------------------------
+// File: src/bench/java/io/github/game/bench/Farms.java
+// ---------------------------
+package io.github.game.bench;
+
+import java.util.SplittableRandom;
+
+import io.github.game.crops.Tomato;
+import io.github.game.crops.Wheat;
+import io.github.game.world.World;
+import io.github.game.world.tiles.DirtTile;
+
+/**
+ * Reproducible test farms for the JMH benchmarks.
+ */
+final class Farms {
+
+    private Farms() {
+    }
+
+    /**
+     * Builds a square world whose interior is tilled and planted at the
+     * given density, alternating wheat and tomato. The layout only depends
+     * on the arguments.
+     *
+     * @param size    map edge in tiles
+     * @param density fraction of interior tiles holding a crop, 0 to 1
+     * @return planted world with the player in the top-left corner
+     */
+    static World planted(int size, double density) {
+        World world = new World(size, size, 800, 400);
+        SplittableRandom random = new SplittableRandom(size);
+        for (int y = 1; y < size - 1; y++) {
+            for (int x = 1; x < size - 1; x++) {
+                if (random.nextDouble() >= density)
+                    continue;
+                DirtTile dirt = new DirtTile();
+                world.setTile(x, y, dirt);
+                dirt.plant((x + y) % 2 == 0 ? new Wheat() : new Tomato());
+            }
+        }
+        return world;
+    }
+}
@@ -0,0 +1,74 @@
+// ---------------------------
+// File: src/bench/java/io/github/game/bench/GrowthBenchmark.java
+// ---------------------------
+package io.github.game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.game.crops.CropStore;
+import io.github.game.crops.Tomato;
+import io.github.game.crops.Wheat;
+
+/**
+ * Day rollover of a grown farm, which only checks the timing wheel, and a
+ * serial against parallel bulk catch-up over a year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrowthBenchmark {
+
+    @Param({ "1000000" })
+    public int crops;
+
+    private CropStore store;
+
+    /**
+     * Serial or parallel catch-up. A single rollover never uses the pool, so
+     * only {@code catchUpYear} takes this state.
+     */
+    @State(Scope.Benchmark)
+    public static class Threads {
+
+        @Param({ "serial", "parallel" })
+        public String mode;
+
+        @Setup
+        public void setup(GrowthBenchmark bench) {
+            bench.store.setParallelThreshold(mode.equals("parallel") ? 1 : Integer.MAX_VALUE);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        store = new CropStore();
+        for (int i = 0; i < crops; i++) {
+            store.attach(i % 2 == 0 ? new Wheat() : new Tomato());
+        }
+    }
+
+    @Benchmark
+    public void advanceDay() {
+        store.advanceDay();
+    }
+
+    @Benchmark
+    public void catchUpYear(Threads threads) {
+        store.advanceDays(365);
+    }
+}
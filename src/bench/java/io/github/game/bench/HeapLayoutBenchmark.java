@@ -0,0 +1,93 @@
+// ---------------------------
+// File: src/bench/java/io/github/game/bench/HeapLayoutBenchmark.java
+// ---------------------------
+package io.github.game.bench;
+
+import java.lang.ref.Reference;
+import java.util.function.Supplier;
+
+import io.github.game.entities.Player;
+import io.github.game.world.World;
+import io.github.game.world.tiles.AbstractTile;
+import io.github.game.world.tiles.TileType;
+
+/**
+ * Compares the retained heap of the old dense tile grid with the chunked
+ * tile map used by {@link World}.
+ * <p>
+ * Run with a large heap, e.g.
+ * {@code MAVEN_OPTS=-Xmx4g mvn -Pbench compile exec:java -Dexec.mainClass=io.github.game.bench.HeapLayoutBenchmark}
+ */
+public class HeapLayoutBenchmark {
+
+    private static final int[][] SIZES = { { 16, 12 }, { 4096, 4096 } };
+
+    public static void main(String[] args) {
+        System.out.printf("%-12s %16s %16s%n", "size", "dense (bytes)", "chunked (bytes)");
+
+        for (int[] size : SIZES) {
+            int w = size[0];
+            int h = size[1];
+
+            long dense = measure(() -> denseLayout(w, h));
+            long chunked = measure(() -> new World(w, h, 800, 400));
+
+            System.out.printf("%-12s %16d %16d%n", w + "x" + h, dense, chunked);
+        }
+    }
+
+    /**
+     * Rebuilds the previous layout: one freshly allocated tile per cell.
+     */
+    private static AbstractTile[][] denseLayout(int width, int height) {
+        AbstractTile[][] tiles = new AbstractTile[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (x == 0 || y == 0 || x == width - 1 || y == height - 1) {
+                    tiles[x][y] = new LegacyTile(TileType.WATER, false);
+                } else {
+                    tiles[x][y] = new LegacyTile(TileType.GRASS, true);
+                }
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Same shape as the old per-cell grass and water tiles, which are now
+     * shared instances and can no longer be allocated per cell.
+     */
+    private static final class LegacyTile extends AbstractTile {
+        LegacyTile(TileType type, boolean walkable) {
+            super(type, walkable);
+        }
+
+        @Override
+        public void onInteract(Player player, World world, int x, int y) {
+        }
+    }
+
+    /**
+     * Returns the heap still in use after building the layout and collecting
+     * garbage, relative to the baseline before building it.
+     */
+    private static long measure(Supplier<Object> builder) {
+        long before = usedHeap();
+        Object layout = builder.get();
+        long after = usedHeap();
+        Reference.reachabilityFence(layout);
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,83 @@
+// ---------------------------
+// File: src/bench/java/io/github/game/bench/InventoryBenchmark.java
+// ---------------------------
+package io.github.game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.game.util.Inventory;
+import io.github.game.util.ItemRegistry;
+
+/**
+ * Inventory updates and reads on one shared inventory.
+ * <p>
+ * The plain methods scale with JMH's {@code -t} option, e.g.
+ * {@code -Djmh.args="InventoryBenchmark -t 4"}. The {@code hud} group pairs
+ * one harvesting thread with three threads taking HUD snapshots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBenchmark {
+
+    private Inventory inventory;
+
+    @Setup
+    public void setup() {
+        inventory = new Inventory();
+        inventory.add(ItemRegistry.WHEAT, 100);
+    }
+
+    @State(Scope.Thread)
+    public static class Snapshot {
+        final int[] counts = new int[ItemRegistry.CAPACITY];
+    }
+
+    /** Adds and takes back one item, so counts stay bounded. */
+    @Benchmark
+    public void addRemove() {
+        inventory.add(ItemRegistry.TOMATO, 1);
+        inventory.remove(ItemRegistry.TOMATO, 1);
+    }
+
+    @Benchmark
+    public int get() {
+        return inventory.get(ItemRegistry.WHEAT);
+    }
+
+    @Benchmark
+    public long snapshot(Snapshot s) {
+        return inventory.snapshot(s.counts);
+    }
+
+    @Benchmark
+    @Group("hud")
+    @GroupThreads(1)
+    public void hudHarvest() {
+        inventory.add(ItemRegistry.TOMATO, 1);
+        inventory.remove(ItemRegistry.TOMATO, 1);
+    }
+
+    @Benchmark
+    @Group("hud")
+    @GroupThreads(3)
+    public long hudRead(Snapshot s) {
+        return inventory.snapshot(s.counts);
+    }
+}
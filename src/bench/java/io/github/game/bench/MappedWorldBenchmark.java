@@ -0,0 +1,87 @@
+// ---------------------------
+// File: src/bench/java/io/github/game/bench/MappedWorldBenchmark.java
+// ---------------------------
+package io.github.game.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.github.game.crops.Tomato;
+import io.github.game.crops.Wheat;
+import io.github.game.engine.HeadlessEngine;
+import io.github.game.world.World;
+import io.github.game.world.save.MappedWorldFile;
+import io.github.game.world.save.WorldSave;
+import io.github.game.world.tiles.DirtTile;
+
+/**
+ * Startup of a large farm from the binary save against the memory-mapped
+ * world file, plus the cost of a day rollover in the mapped world.
+ * <p>
+ * Arguments: {@code [size] [field]}, defaulting to 4096 and 1024.
+ * {@code MAVEN_OPTS=-Xmx2g mvn -Pbench compile exec:java -Dexec.mainClass=io.github.game.bench.MappedWorldBenchmark}
+ */
+public class MappedWorldBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int field = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+
+        Path save = Files.createTempFile("farm", ".sav");
+        Path mapped = Files.createTempFile("farm", ".map");
+        try {
+            World source = plantedWorld(size, field);
+            WorldSave.save(source, save);
+            MappedWorldFile.create(mapped, source);
+            source = null;
+            System.gc();
+
+            long t0 = System.nanoTime();
+            World loaded = WorldSave.load(save);
+            long t1 = System.nanoTime();
+            System.out.printf("binary save: load %.1f ms, %d crops in memory%n",
+                    (t1 - t0) / 1e6, loaded.getPlantedCount());
+            loaded = null;
+            System.gc();
+
+            t0 = System.nanoTime();
+            World world = MappedWorldFile.open(mapped).openWorld();
+            // Touch the area around the middle, as the first frame would
+            int mid = size / 2;
+            for (int y = mid - 16; y < mid + 16; y++) {
+                for (int x = mid - 24; x < mid + 24; x++)
+                    world.getTile(x, y);
+            }
+            t1 = System.nanoTime();
+            System.out.printf("mapped file: open and first view %.1f ms, %d of %d chunks loaded%n",
+                    (t1 - t0) / 1e6, world.getTileMap().getAllocatedChunkCount(),
+                    world.getTileMap().getTotalChunkCount());
+
+            HeadlessEngine engine = new HeadlessEngine(world);
+            for (int day = 1; day <= 3; day++) {
+                t0 = System.nanoTime();
+                engine.runDays(1);
+                t1 = System.nanoTime();
+                System.out.printf("mapped file: day %d took %.1f ms%n", day, (t1 - t0) / 1e6);
+            }
+        } finally {
+            Files.deleteIfExists(save);
+            Files.deleteIfExists(mapped);
+        }
+    }
+
+    private static World plantedWorld(int size, int field) {
+        World world = new World(size, size, 800, 400);
+        int from = (size - field) / 2;
+        for (int y = from; y < from + field; y++) {
+            for (int x = from; x < from + field; x++) {
+                DirtTile dirt = new DirtTile();
+                world.setTile(x, y, dirt);
+                if ((x + y) % 3 != 0)
+                    dirt.plant((x + y) % 2 == 0 ? new Wheat() : new Tomato());
+            }
+        }
+        return world;
+    }
+}
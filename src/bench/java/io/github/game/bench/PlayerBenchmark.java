@@ -0,0 +1,100 @@
+// ---------------------------
+// File: src/bench/java/io/github/game/bench/PlayerBenchmark.java
+// ---------------------------
+package io.github.game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.game.crops.Crop;
+import io.github.game.crops.Wheat;
+import io.github.game.entities.Direction;
+import io.github.game.entities.Player;
+import io.github.game.entities.SeedTool;
+import io.github.game.entities.SeedType;
+import io.github.game.world.World;
+import io.github.game.world.tiles.DirtTile;
+
+/**
+ * Player actions: stepping between two tiles, the per-tick update, and
+ * harvesting a grown crop with {@link DirtTile#onInteract} and replanting it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+
+    @Param({ "64", "2048" })
+    public int mapSize;
+
+    @Param({ "0.25", "1.0" })
+    public double density;
+
+    private World world;
+    private Player player;
+    private DirtTile[] field;
+    private int next = 0;
+    private int step = 1;
+
+    @Setup
+    public void setup() {
+        world = Farms.planted(mapSize, density);
+        player = world.getPlayer();
+        player.getTools().add(new SeedTool(SeedType.WHEAT, "crops/wheat_stage_0.png"));
+        player.selectTool(0);
+
+        // The 64x64 block next to the top-left corner, tilled everywhere
+        int edge = Math.min(64, mapSize - 2);
+        field = new DirtTile[edge * edge];
+        for (int y = 0; y < edge; y++) {
+            for (int x = 0; x < edge; x++) {
+                if (!(world.getTile(x + 1, y + 1) instanceof DirtTile)) {
+                    world.setTile(x + 1, y + 1, new DirtTile());
+                }
+                field[y * edge + x] = (DirtTile) world.getTile(x + 1, y + 1);
+                replant(field[y * edge + x]);
+            }
+        }
+        player.setPosition(1, 1);
+    }
+
+    private static void replant(DirtTile dirt) {
+        Crop crop = new Wheat();
+        crop.restoreGrowth(crop.getMaxStage(), 0);
+        dirt.plant(crop);
+    }
+
+    @Benchmark
+    public void move() {
+        player.move(step, 0, world, step > 0 ? Direction.RIGHT : Direction.LEFT);
+        player.stopMoving();
+        step = -step;
+    }
+
+    @Benchmark
+    public void update() {
+        player.update();
+    }
+
+    @Benchmark
+    public void harvest() {
+        DirtTile dirt = field[next];
+        next = (next + 1) % field.length;
+        dirt.onInteract(player, world, dirt.getX(), dirt.getY());
+        replant(dirt);
+    }
+}
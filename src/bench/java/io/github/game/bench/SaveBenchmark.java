@@ -0,0 +1,101 @@
+// ---------------------------
+// File: src/bench/java/io/github/game/bench/SaveBenchmark.java
+// ---------------------------
+package io.github.game.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.github.game.crops.Crop;
+import io.github.game.crops.Tomato;
+import io.github.game.crops.Wheat;
+import io.github.game.engine.HeadlessEngine;
+import io.github.game.world.World;
+import io.github.game.world.save.WorldSave;
+import io.github.game.world.tiles.AbstractTile;
+import io.github.game.world.tiles.DirtTile;
+
+/**
+ * Saves and reloads a large farm and prints the timings and file size.
+ * <p>
+ * Arguments: {@code [size] [field]}, the map edge and the edge of the
+ * planted square in its middle, defaulting to 4096 and 1024.
+ * {@code MAVEN_OPTS=-Xmx2g mvn -Pbench compile exec:java -Dexec.mainClass=io.github.game.bench.SaveBenchmark}
+ */
+public class SaveBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int field = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+
+        World world = plantedWorld(size, field);
+        Path file = Files.createTempFile("farm", ".sav");
+
+        try {
+            World loaded = null;
+            for (int round = 1; round <= ROUNDS; round++) {
+                // Drop the previous copy so each round starts from the same heap
+                loaded = null;
+                System.gc();
+
+                long t0 = System.nanoTime();
+                WorldSave.save(world, file);
+                long t1 = System.nanoTime();
+                loaded = WorldSave.load(file);
+                long t2 = System.nanoTime();
+
+                System.out.printf("round %d: save %.0f ms, load %.0f ms, %d bytes%n",
+                        round, (t1 - t0) / 1e6, (t2 - t1) / 1e6, Files.size(file));
+            }
+            verify(world, loaded);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Builds a world with a square field of mixed crops at various stages.
+     */
+    private static World plantedWorld(int size, int field) {
+        World world = new World(size, size, 800, 400);
+        int from = (size - field) / 2;
+        for (int y = from; y < from + field; y++) {
+            for (int x = from; x < from + field; x++) {
+                DirtTile dirt = new DirtTile();
+                world.setTile(x, y, dirt);
+                if ((x + y) % 3 != 0)
+                    dirt.plant((x + y) % 2 == 0 ? new Wheat() : new Tomato());
+            }
+        }
+        new HeadlessEngine(world).runDays(2);
+        world.getPlayer().getInventory().add("wheat", 42);
+        return world;
+    }
+
+    private static void verify(World expected, World actual) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                AbstractTile a = expected.getTile(x, y);
+                AbstractTile b = actual.getTile(x, y);
+                if (a.getType() != b.getType())
+                    throw new AssertionError("Tile mismatch at " + x + "," + y);
+                if (a instanceof DirtTile da && da.hasCrop()) {
+                    Crop ca = da.getCrop();
+                    Crop cb = ((DirtTile) b).getCrop();
+                    if (cb == null || ca.getClass() != cb.getClass()
+                            || ca.getGrowthStage() != cb.getGrowthStage()
+                            || ca.getGrowthProgress() != cb.getGrowthProgress())
+                        throw new AssertionError("Crop mismatch at " + x + "," + y);
+                }
+            }
+        }
+        if (expected.getDayCycle().getDayCount() != actual.getDayCycle().getDayCount()
+                || expected.getDayCycle().getCurrentTick() != actual.getDayCycle().getCurrentTick()
+                || !expected.getPlayer().getInventory().getItems().equals(actual.getPlayer().getInventory().getItems()))
+            throw new AssertionError("Day cycle or inventory mismatch");
+        System.out.printf("verified: %d crops, day %d%n", actual.getPlantedCount(), actual.getDayCycle().getDayCount());
+    }
+}
@@ -0,0 +1,97 @@
+// ---------------------------
+// File: src/bench/java/io/github/game/bench/WorldBenchmark.java
+// ---------------------------
+package io.github.game.bench;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.game.crops.CropStore;
+import io.github.game.world.World;
+
+/**
+ * World simulation paths across map sizes and crop densities.
+ * <p>
+ * {@code tick} is one {@link World#update()}, including the day rollover
+ * every 1200 ticks. {@code newDay} forces a rollover; after the first few
+ * days the farm is grown and it measures the idle check. {@code catchUpYear}
+ * folds a year of growth into every crop, in parallel when
+ * {@code threads} is above one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBenchmark {
+
+    @Param({ "64", "512", "2048" })
+    public int mapSize;
+
+    @Param({ "0.25", "1.0" })
+    public double density;
+
+    private World world;
+
+    /**
+     * Crop store thread count. Only the bulk catch-up uses the pool; day
+     * rollovers go through the timing wheel, so only {@code catchUpYear}
+     * takes this state.
+     */
+    @State(Scope.Benchmark)
+    public static class Threads {
+
+        @Param({ "1", "4" })
+        public int threads;
+
+        private ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void setup(WorldBenchmark bench) {
+            pool = new ForkJoinPool(threads);
+            CropStore store = bench.world.getCropStore();
+            store.setPool(pool);
+            store.setParallelThreshold(threads > 1 ? 1 : Integer.MAX_VALUE);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = Farms.planted(mapSize, density);
+    }
+
+    @Benchmark
+    public void tick() {
+        world.update();
+    }
+
+    @Benchmark
+    public void newDay() {
+        world.advanceDays(1);
+    }
+
+    @Benchmark
+    public void catchUpYear(Threads threads) {
+        world.advanceDays(365);
+    }
+}
@@ -3,19 +3,31 @@
 // ---------------------------
 package io.github.game.controllers;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import io.github.game.engine.GameLoop;
 import io.github.game.engine.InputHandler;
+import io.github.game.engine.InputRecorder;
+import io.github.game.engine.PlayerInput;
 import io.github.game.engine.Renderer;
 import io.github.game.engine.Renderer.AudioManager;
-import io.github.game.entities.HoeTool;
 import io.github.game.entities.Player;
-import io.github.game.entities.SeedTool;
-import io.github.game.entities.SeedType;
+import io.github.game.util.AssetLoader;
 import io.github.game.util.ResourceManager;
 import io.github.game.world.World;
+import io.github.game.world.save.ChangeJournal;
+import io.github.game.world.save.MappedWorldFile;
+import io.github.game.world.save.WorldSave;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
 
@@ -33,64 +45,257 @@ public class App extends Application {
     /** Height of the game canvas in pixels. */
     private static final int CANVAS_HEIGHT = 480;
 
+    /** Default world size in tiles, matching the canvas exactly. */
+    private static final int DEFAULT_WORLD_WIDTH = 16;
+    private static final int DEFAULT_WORLD_HEIGHT = 12;
+
     /** The main game loop controlling updates and rendering. */
     private GameLoop loop;
 
+    /** Draws the game; stopped together with the loop. */
+    private Renderer renderer;
+
+    /** Default save location, relative to the working directory. */
+    private static final String DEFAULT_SAVE_FILE = "farm.sav";
+
+    /** The running world, saved on exit. */
+    private World world;
+    private Path saveFile;
+
+    /** Memory-mapped world file when started with {@code --mapped=FILE}, else null. */
+    private MappedWorldFile mappedFile;
+
+    /** Autosave journal next to the save file; null in mapped mode or if it failed to open. */
+    private ChangeJournal journal;
+
+    /** Input log when started with {@code --record=FILE}, else null. */
+    private InputRecorder recorder;
+
+    /** {@link System#nanoTime()} when {@link #start} began, for time to first frame. */
+    private long startNanos;
+
     /**
      * JavaFX entry point after launch().
-     * Sets up the game world, player, tools, renderer, input handling,
-     * audio, and starts the game loop.
+     * Sets up the game world and player tools, shows a loading screen while
+     * the assets are decoded in the background, then creates the renderer,
+     * input handling and audio and starts the game loop.
+     * <p>
+     * The farm is restored from {@code farm.sav} (or {@code --save=FILE}) if it
+     * exists and saved there on exit. In between, every change is appended to
+     * a journal next to the save file in the background, so a crash loses at
+     * most about a second of play. With {@code --mapped=FILE} the world
+     * lives in a memory-mapped file instead, which opens instantly however
+     * large the map is. New worlds can be sized with
+     * {@code --width=N --height=N}; maps larger than the canvas scroll with the
+     * player. {@code --image-cache-mb=N} caps the memory used by cached images.
+     * {@code --record=FILE} logs every key that affects the game, to be
+     * replayed headless with {@link io.github.game.engine.InputReplay}.
      *
      * @param primaryStage the primary stage provided by JavaFX
      */
     @Override
     public void start(Stage primaryStage) {
+        startNanos = System.nanoTime();
 
-        // Create world (this also initializes the Player)
-        World world = new World(16, 12, 800, 400);
+        String cacheMb = getParameters().getNamed().get("image-cache-mb");
+        if (cacheMb != null)
+            ResourceManager.getImageCache().setMaxBytes(Long.parseLong(cacheMb) << 20);
+
+        // Restore the saved farm, or create a new world (this also initializes the Player)
+        saveFile = Paths.get(getParameters().getNamed().getOrDefault("save", DEFAULT_SAVE_FILE));
+        World world = loadWorld();
+        this.world = world;
 
         // Initialize player tools
         Player p = world.getPlayer();
-        p.getTools().add(new HoeTool(ResourceManager.loadImage("tools/hoe.png")));
-        p.getTools().add(new SeedTool(SeedType.WHEAT, ResourceManager.loadImage("crops/wheat_stage_0.png")));
-        p.getTools().add(new SeedTool(SeedType.TOMATO, ResourceManager.loadImage("crops/tomato_stage_0.png")));
-
-        // Setup JavaFX canvas and renderer
-        Canvas canvas = new Canvas(CANVAS_WIDTH, CANVAS_HEIGHT);
-        Renderer renderer = new Renderer(world, canvas, p);
-
-        // Input handling
-        InputHandler input = new InputHandler(world, renderer);
-
-        // Audio
-        AudioManager audioManager = renderer.new AudioManager();
+        p.equipStarterTools();
 
-        // Main game loop at 60 FPS
-        loop = new GameLoop(world, renderer, 60, audioManager);
+        String record = getParameters().getNamed().get("record");
+        if (record != null)
+            startRecording(world, Paths.get(record));
 
-        // Scene and stage setup
+        // Show the window right away with a loading screen
+        Canvas canvas = new Canvas(CANVAS_WIDTH, CANVAS_HEIGHT);
         BorderPane root = new BorderPane(canvas);
         Scene scene = new Scene(root);
-        scene.setOnKeyPressed(e -> input.onKeyPressed(e.getCode()));
-        scene.setOnKeyReleased(e -> input.onKeyReleased(e.getCode()));
 
         primaryStage.setScene(scene);
         primaryStage.setTitle("Farming Game - JavaFX");
         primaryStage.setResizable(false);
         primaryStage.show();
 
+        // Decode atlas, font and music on worker threads
+        AssetLoader loader = new AssetLoader();
+        AnimationTimer loadingScreen = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                drawLoadingScreen(canvas.getGraphicsContext2D(), loader.getProgress());
+            }
+        };
+        loadingScreen.start();
+
+        loader.loadAsync(Renderer.spritePaths(p)).whenComplete((assets, error) -> Platform.runLater(() -> {
+            loadingScreen.stop();
+            if (error != null) {
+                System.err.println("Failed to load assets: " + error.getMessage());
+                Platform.exit();
+                return;
+            }
+            startGame(world, canvas, scene, assets);
+            renderer.setStartupTimings(startNanos, loader.getTotalNanos(), loader.getTimings());
+        }));
+    }
+
+    /**
+     * Loads the world from the save file if there is one, otherwise creates
+     * a new world of the size given on the command line.
+     */
+    private World loadWorld() {
+        String mapped = getParameters().getNamed().get("mapped");
+        if (mapped != null) {
+            try {
+                Path file = Paths.get(mapped);
+                mappedFile = Files.exists(file)
+                        ? MappedWorldFile.open(file)
+                        : MappedWorldFile.create(file, newWorld());
+                return mappedFile.openWorld();
+            } catch (IOException e) {
+                System.err.println("Failed to open mapped world, starting a new farm: " + e.getMessage());
+                mappedFile = null;
+            }
+        }
+
+        Path journalFile = journalFile();
+        World loaded = null;
+        if (Files.exists(saveFile)) {
+            try {
+                loaded = ChangeJournal.recover(saveFile, journalFile);
+            } catch (IOException e) {
+                System.err.println("Failed to load save, starting a new farm: " + e.getMessage());
+            }
+        }
+        if (loaded == null)
+            loaded = newWorld();
+
+        try {
+            // The journal only holds changes, so it needs a snapshot to build on
+            if (!Files.exists(saveFile))
+                WorldSave.save(loaded, saveFile);
+            journal = ChangeJournal.start(loaded, saveFile, journalFile);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Autosave disabled: " + e.getMessage());
+        }
+        return loaded;
+    }
+
+    /**
+     * Starts logging input against the world as it is now, before the first
+     * tick. Not available in mapped mode, where a snapshot of the whole map
+     * could be far too large.
+     */
+    private void startRecording(World world, Path file) {
+        if (mappedFile != null) {
+            System.err.println("Input recording is not supported with --mapped");
+            return;
+        }
+        try {
+            recorder = InputRecorder.start(world, file);
+        } catch (IOException e) {
+            System.err.println("Failed to start input recording: " + e.getMessage());
+        }
+    }
+
+    private Path journalFile() {
+        return saveFile.resolveSibling(saveFile.getFileName() + ".journal");
+    }
+
+    /**
+     * Creates a new world of the size given on the command line.
+     */
+    private World newWorld() {
+        int worldWidth = Integer.parseInt(
+                getParameters().getNamed().getOrDefault("width", String.valueOf(DEFAULT_WORLD_WIDTH)));
+        int worldHeight = Integer.parseInt(
+                getParameters().getNamed().getOrDefault("height", String.valueOf(DEFAULT_WORLD_HEIGHT)));
+        return new World(worldWidth, worldHeight, 800, 400);
+    }
+
+    /**
+     * Creates the renderer, input handling and audio from the loaded assets
+     * and starts the game loop. Runs on the JavaFX thread.
+     */
+    private void startGame(World world, Canvas canvas, Scene scene, AssetLoader.Assets assets) {
+        renderer = new Renderer(world, canvas, world.getPlayer(), assets);
+
+        // Input handling; keys are queued and applied on the game loop thread
+        PlayerInput playerInput = new PlayerInput();
+        playerInput.setRecorder(recorder);
+        InputHandler input = new InputHandler(playerInput, renderer);
+        scene.setOnKeyPressed(e -> input.onKeyPressed(e.getCode()));
+        scene.setOnKeyReleased(e -> input.onKeyReleased(e.getCode()));
+
+        // Audio
+        AudioManager audioManager = renderer.new AudioManager();
+
+        // Main game loop at 60 FPS
+        loop = new GameLoop(world, renderer, playerInput, 60, audioManager);
+
         canvas.requestFocus();
         loop.start();
     }
 
     /**
-     * Stops the game loop when the application exits.
+     * Draws a progress bar while assets load. Uses the default font, since
+     * the game font is one of the assets being loaded.
+     */
+    private static void drawLoadingScreen(GraphicsContext gc, double progress) {
+        double w = gc.getCanvas().getWidth();
+        double h = gc.getCanvas().getHeight();
+        double barW = w / 2;
+        double barX = (w - barW) / 2;
+        double barY = h / 2;
+
+        gc.setFill(Color.BLACK);
+        gc.fillRect(0, 0, w, h);
+        gc.setFill(Color.WHITE);
+        gc.fillText("Loading...", barX, barY - 12);
+        gc.setStroke(Color.WHITE);
+        gc.strokeRect(barX, barY, barW, 16);
+        gc.fillRect(barX, barY, barW * progress, 16);
+    }
+
+    /**
+     * Stops the game loop when the application exits, ends the input
+     * recording if there is one and saves the farm. The loop has fully
+     * stopped before anything reads the world.
      *
      * @throws Exception if an error occurs while stopping
      */
     @Override
     public void stop() throws Exception {
-        if (loop != null) loop.stop();
+        if (loop != null) loop.stop(); // returns once the loop thread has exited
+        if (renderer != null) renderer.stop();
+        if (recorder != null && world != null) {
+            try {
+                // The world no longer changes, so the hash is the final state
+                recorder.finish(world);
+            } catch (IOException e) {
+                System.err.println("Failed to finish input recording: " + e.getMessage());
+            }
+        }
+        if (world != null) {
+            try {
+                // Drain the journal first; the full save below supersedes it
+                if (journal != null)
+                    journal.close();
+                if (mappedFile != null)
+                    mappedFile.flush(world);
+                else
+                    WorldSave.save(world, saveFile);
+            } catch (IOException e) {
+                System.err.println("Failed to save: " + e.getMessage());
+            }
+        }
         super.stop();
     }
 
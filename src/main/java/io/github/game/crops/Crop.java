@@ -6,6 +6,10 @@ package io.github.game.crops;
 /**
  * Abstract class representing a general crop in the game.
  * Implements the {@link Growable} interface.
+ * <p>
+ * Once planted in a world the crop is attached to a {@link CropStore} and
+ * becomes a view over its slot there; the fields below then only hold the
+ * state from before it was attached.
  */
 public abstract class Crop implements Growable {
 
@@ -18,18 +22,59 @@ public abstract class Crop implements Growable {
     /** Progress toward the next growth stage (0.0 - 1.0). */
     protected double growthProgress = 0.0;
 
+    /** Store holding this crop's state while attached, or null. */
+    private CropStore store;
+    private int slot = -1;
+
     /**
      * Advances the crop's growth by one day.
      * Updates the growth stage if progress reaches the threshold.
      */
     @Override
     public void onNewDay() {
-        growthProgress += getDailyGrowth();
+        if (store != null) {
+            store.advance(slot);
+            return;
+        }
+
+        grow(1);
+    }
 
-        while (growthProgress >= 1.0 && growthStage < maxStage) {
-            growthStage++;
-            growthProgress -= 1.0;
+    /**
+     * Advances the crop's growth by several days in one step.
+     * Growth per day is constant, so after {@code n} days the progress has
+     * gained {@code n * dailyGrowth} and every whole unit of it is one stage,
+     * up to the maximum stage.
+     * <p>
+     * This equals {@code n} calls of {@link #onNewDay()} up to rounding:
+     * {@code p + g * n} is rounded once, {@code n} single days round after
+     * every step. Attached or not, the crop computes it in float with the
+     * same expression as its {@link CropStore}, so where its state lives
+     * does not change how it grows.
+     *
+     * @param days number of days to advance
+     * @throws IllegalArgumentException if days is negative
+     */
+    @Override
+    public void advanceDays(int days) {
+        if (days < 0)
+            throw new IllegalArgumentException("Negative day count: " + days);
+        if (store != null) {
+            store.advance(slot, days);
+            return;
         }
+        grow(days);
+    }
+
+    /**
+     * Folds several days of growth into the crop's own fields, in float like
+     * {@link CropStore}.
+     */
+    private void grow(int days) {
+        float p = (float) growthProgress + (float) getDailyGrowth() * days;
+        int steps = Math.min((int) p, maxStage - growthStage);
+        growthStage += steps;
+        growthProgress = p - steps;
     }
 
     /**
@@ -40,6 +85,27 @@ public abstract class Crop implements Growable {
      */
     protected abstract double getDailyGrowth();
 
+    /**
+     * Returns the daily growth rate, e.g. for storage that advances crops
+     * without crop objects.
+     *
+     * @return growth increment per day
+     */
+    public final double getGrowthPerDay() {
+        return getDailyGrowth();
+    }
+
+    /**
+     * Returns the final growth stage of this crop.
+     *
+     * @return maximum growth stage
+     */
+    public int getMaxStage() {
+        if (store != null)
+            return store.getMaxStage(slot);
+        return maxStage;
+    }
+
     /**
      * Checks if the crop has reached its maximum growth stage.
      *
@@ -47,6 +113,8 @@ public abstract class Crop implements Growable {
      */
     @Override
     public boolean isFullyGrown() {
+        if (store != null)
+            return store.getStage(slot) >= store.getMaxStage(slot);
         return growthStage >= maxStage;
     }
 
@@ -56,9 +124,57 @@ public abstract class Crop implements Growable {
      * @return integer representing growth stage
      */
     public int getGrowthStage() {
+        if (store != null)
+            return store.getStage(slot);
         return growthStage;
     }
 
+    /**
+     * Gets the progress toward the next growth stage.
+     *
+     * @return progress between 0.0 and 1.0 while still growing
+     */
+    public double getGrowthProgress() {
+        if (store != null)
+            return store.getProgress(slot);
+        return growthProgress;
+    }
+
+    /**
+     * Sets the growth state of a crop that has not been planted yet, e.g.
+     * when restoring a saved game. The state moves into the crop store when
+     * the crop is planted.
+     *
+     * @param stage    growth stage, clamped to the maximum stage
+     * @param progress progress toward the next stage
+     * @throws IllegalStateException if the crop is already attached
+     */
+    public void restoreGrowth(int stage, double progress) {
+        if (store != null)
+            throw new IllegalStateException("Crop is already planted");
+        this.growthStage = Math.max(0, Math.min(stage, maxStage));
+        this.growthProgress = progress;
+    }
+
+    /**
+     * Checks whether this crop's state currently lives in a {@link CropStore}.
+     *
+     * @return true if attached
+     */
+    public boolean isAttached() {
+        return store != null;
+    }
+
+    /** Called by {@link CropStore} when the crop is attached or detached. */
+    void bind(CropStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
     /**
      * Returns the yield amount when harvested.
      * Subclasses should define specific harvest values.
@@ -66,4 +182,11 @@ public abstract class Crop implements Growable {
      * @return number of items produced when harvested
      */
     public abstract int getHarvestYield();
+
+    /**
+     * Returns the item added to the inventory when harvested.
+     *
+     * @return item id from {@link io.github.game.util.ItemRegistry}
+     */
+    public abstract int getItemId();
 }
@@ -0,0 +1,515 @@
+// ---------------------------
+// File: src/main/java/io/github/game/crops/CropStore.java
+// ---------------------------
+package io.github.game.crops;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Structure-of-arrays storage for the growth state of planted crops.
+ * <p>
+ * Each attached {@link Crop} owns one slot. Stage, maximum stage, progress
+ * and crop kind are kept in parallel primitive arrays. Attached crops read
+ * and write their state through this store; detached crops keep using their
+ * own fields.
+ * <p>
+ * Growth per day is constant per kind, so the store does not touch every
+ * crop every day. A slot's progress is stored as of the day it last changed
+ * stage and derived for later days. The day of its next stage change is
+ * computed up front and queued in a timing wheel: 64 buckets of one day,
+ * backed by 64 buckets of 64 days that are moved down as their span comes
+ * up. Day rollover only visits the crops whose stage changes that day,
+ * and reports each of them to the {@link StageListener}.
+ * <p>
+ * Skipping many days at once instead folds the elapsed growth into every
+ * slot and computes its next due day in a single pass, then refills the
+ * wheel. Once the number of slots reaches the parallel threshold that pass
+ * is split into contiguous slot ranges on a {@link ForkJoinPool}; refilling
+ * the buckets and notifying the listener stay on the calling thread. A
+ * single rollover never uses the pool, since it only visits the crops due
+ * that day.
+ * <p>
+ * Kind 0 is reserved for free slots. It has zero growth and a maximum stage
+ * of zero, so free slots can stay in the bulk pass without a branch.
+ */
+public class CropStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Default slot count from which a bulk catch-up runs in parallel. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 17;
+
+    /** Slot range size below which a parallel task stops splitting. */
+    private static final int MIN_SEGMENT = 1 << 14;
+
+    // Timing wheel geometry: days per bucket level
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    /** Due day of a slot that will not change stage again. */
+    private static final int NEVER = -1;
+
+    /**
+     * Receives the crops whose growth stage changed during day rollover.
+     */
+    public interface StageListener {
+
+        /**
+         * Called after a crop moved to a later growth stage.
+         *
+         * @param tag tag the crop was attached with
+         */
+        void onStageChanged(int tag);
+    }
+
+    private byte[] stage = new byte[INITIAL_CAPACITY];
+    private byte[] maxStage = new byte[INITIAL_CAPACITY];
+    private float[] progress = new float[INITIAL_CAPACITY];
+    private short[] kind = new short[INITIAL_CAPACITY];
+
+    /** Day on which stage and progress were last brought up to date. */
+    private int[] baseDay = new int[INITIAL_CAPACITY];
+
+    /** Day of the next stage change, or {@link #NEVER}. */
+    private int[] due = new int[INITIAL_CAPACITY];
+
+    /** Caller-defined id reported to the listener, or -1. */
+    private int[] tag = new int[INITIAL_CAPACITY];
+
+    /** One past the highest slot ever handed out. */
+    private int high = 0;
+
+    /** Stack of released slots below {@link #high}. */
+    private int[] freeSlots = new int[16];
+    private int freeCount = 0;
+
+    /** Daily growth per kind id; index 0 is the free-slot kind. */
+    private float[] kindGrowth = new float[] { 0f };
+    private final Map<Class<? extends Crop>, Short> kindIds = new HashMap<>();
+
+    /** Number of day rollovers so far. */
+    private int today = 0;
+
+    // Slots due within the next WHEEL_SIZE days, bucketed by day
+    private final int[][] near = new int[WHEEL_SIZE][4];
+    private final int[] nearCount = new int[WHEEL_SIZE];
+
+    // Slots due later, bucketed by WHEEL_SIZE-day span
+    private final int[][] far = new int[WHEEL_SIZE][4];
+    private final int[] farCount = new int[WHEEL_SIZE];
+
+    private StageListener listener;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Moves a crop's growth state into a new slot of this store.
+     * From then on the crop reads and writes its state through the store.
+     *
+     * @param crop crop to attach; must not already be attached
+     */
+    public void attach(Crop crop) {
+        attach(crop, -1);
+    }
+
+    /**
+     * Moves a crop's growth state into a new slot of this store and tags it
+     * for stage change notifications, e.g. with its tile position.
+     *
+     * @param crop crop to attach; must not already be attached
+     * @param tag  id passed to the {@link StageListener}, or -1 for none
+     */
+    public void attach(Crop crop, int tag) {
+        int slot = allocateSlot();
+        stage[slot] = (byte) crop.growthStage;
+        maxStage[slot] = (byte) crop.maxStage;
+        progress[slot] = (float) crop.growthProgress;
+        kind[slot] = kindOf(crop);
+        baseDay[slot] = today;
+        this.tag[slot] = tag;
+        schedule(slot);
+        crop.bind(this, slot);
+    }
+
+    /**
+     * Copies a crop's state back into its own fields and frees its slot.
+     *
+     * @param crop crop previously attached to this store
+     */
+    public void detach(Crop crop) {
+        int slot = crop.getSlot();
+        crop.growthStage = stage[slot];
+        crop.growthProgress = getProgress(slot);
+        crop.bind(null, -1);
+
+        // Its wheel entries are dropped lazily once due no longer matches
+        stage[slot] = 0;
+        maxStage[slot] = 0;
+        progress[slot] = 0f;
+        kind[slot] = 0;
+        due[slot] = NEVER;
+        tag[slot] = -1;
+
+        if (freeCount == freeSlots.length)
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Advances every slot by one day.
+     * Equivalent to calling {@link Crop#onNewDay()} on each attached crop,
+     * but only the crops changing stage today are visited.
+     */
+    public void advanceDay() {
+        advanceDays(1);
+    }
+
+    /**
+     * Advances every slot by several days.
+     * Equivalent to calling {@link Crop#advanceDays(int)} on each attached
+     * crop, up to rounding. Skips shorter than the wheel (64
+     * days) still roll over day by day, visiting only the crops due each
+     * day; skips as long as the wheel or longer fold the growth into all
+     * slots in one pass and report every attached crop to the listener.
+     *
+     * @param days number of days to advance
+     * @throws IllegalArgumentException if days is negative
+     */
+    public void advanceDays(int days) {
+        if (days < 0)
+            throw new IllegalArgumentException("Negative day count: " + days);
+        if (days < WHEEL_SIZE) {
+            for (int d = 0; d < days; d++)
+                rollOver();
+            return;
+        }
+
+        today += days;
+        if (high >= parallelThreshold && pool.getParallelism() > 1) {
+            pool.invoke(new CatchUpTask(0, high));
+        } else {
+            catchUpRange(0, high);
+        }
+
+        Arrays.fill(nearCount, 0);
+        Arrays.fill(farCount, 0);
+        for (int slot = 0; slot < high; slot++) {
+            if (kind[slot] == 0)
+                continue;
+            enqueue(slot);
+            if (listener != null && tag[slot] >= 0)
+                listener.onStageChanged(tag[slot]);
+        }
+    }
+
+    /**
+     * Brings every slot up to date as of today and requeues it, so the
+     * stored state no longer depends on when each slot was last visited.
+     * <p>
+     * Growth from an older base day is computed in one float step, which can
+     * round differently from the same crop reloaded from a save and grown
+     * from today. After this call the store matches a reloaded copy exactly
+     * and both evolve identically, which deterministic replays rely on.
+     * Stages never change here, since no slot is past its due day.
+     */
+    public void normalize() {
+        catchUpRange(0, high);
+        Arrays.fill(nearCount, 0);
+        Arrays.fill(farCount, 0);
+        for (int slot = 0; slot < high; slot++) {
+            if (kind[slot] != 0)
+                enqueue(slot);
+        }
+    }
+
+    /**
+     * Starts the next day and moves every crop due today to its next stage.
+     */
+    private void rollOver() {
+        int t = ++today;
+        if ((t & WHEEL_MASK) == 0)
+            cascade(t);
+
+        // Firing schedules at least one day ahead, never into this bucket
+        int b = t & WHEEL_MASK;
+        int[] bucket = near[b];
+        int count = nearCount[b];
+        nearCount[b] = 0;
+        for (int i = 0; i < count; i++) {
+            int slot = bucket[i];
+            if (due[slot] == t)
+                fire(slot);
+        }
+    }
+
+    /**
+     * Moves the slots of the span starting on day {@code t} down to the
+     * day buckets. Slots for a later round of the same bucket stay; stale
+     * entries are dropped.
+     */
+    private void cascade(int t) {
+        int span = t >>> WHEEL_BITS;
+        int b = span & WHEEL_MASK;
+        int[] bucket = far[b];
+        int count = farCount[b], kept = 0;
+        for (int i = 0; i < count; i++) {
+            int slot = bucket[i];
+            int d = due[slot];
+            if (d == NEVER)
+                continue;
+            if (d >>> WHEEL_BITS == span)
+                push(near, nearCount, d & WHEEL_MASK, slot);
+            else if (d > t && ((d >>> WHEEL_BITS) & WHEEL_MASK) == b)
+                bucket[kept++] = slot;
+        }
+        farCount[b] = kept;
+    }
+
+    /**
+     * Brings a due slot up to date, queues its next stage change and
+     * reports it.
+     */
+    private void fire(int slot) {
+        int steps = catchUp(slot, 0);
+        schedule(slot);
+        if (steps > 0 && listener != null && tag[slot] >= 0)
+            listener.onStageChanged(tag[slot]);
+    }
+
+    /**
+     * Folds the growth since the slot's base day, plus extra days, into its
+     * stage and progress and makes today its base day.
+     *
+     * @return number of stages gained
+     */
+    private int catchUp(int slot, int extraDays) {
+        int s = stage[slot];
+        float p = progress[slot] + kindGrowth[kind[slot]] * (today - baseDay[slot] + extraDays);
+        int steps = Math.min((int) p, maxStage[slot] - s);
+        stage[slot] = (byte) (s + steps);
+        progress[slot] = p - steps;
+        baseDay[slot] = today;
+        return steps;
+    }
+
+    /**
+     * Computes the day of a slot's next stage change from its state as of
+     * today and queues it.
+     */
+    private void schedule(int slot) {
+        due[slot] = dueDay(slot);
+        enqueue(slot);
+    }
+
+    /**
+     * Computes the day of a slot's next stage change from its state as of
+     * today. Uses the same float expression as {@link #catchUp}, so the slot
+     * is never woken a day early or late. Only reads the slot, so ranges of
+     * slots can be computed in parallel.
+     *
+     * @return due day, or {@link #NEVER}
+     */
+    private int dueDay(int slot) {
+        float g = kindGrowth[kind[slot]];
+        if (stage[slot] >= maxStage[slot] || g <= 0f)
+            return NEVER;
+
+        float p = progress[slot];
+        int n = Math.max(1, (int) Math.ceil((1f - p) / g));
+        while (p + g * n < 1f)
+            n++;
+        while (n > 1 && p + g * (n - 1) >= 1f)
+            n--;
+        return today + n;
+    }
+
+    /**
+     * Queues a slot in the bucket of its due day.
+     */
+    private void enqueue(int slot) {
+        int d = due[slot];
+        if (d == NEVER)
+            return;
+        if (d - today < WHEEL_SIZE)
+            push(near, nearCount, d & WHEEL_MASK, slot);
+        else
+            push(far, farCount, (d >>> WHEEL_BITS) & WHEEL_MASK, slot);
+    }
+
+    private static void push(int[][] buckets, int[] counts, int b, int slot) {
+        int count = counts[b];
+        if (count == buckets[b].length)
+            buckets[b] = Arrays.copyOf(buckets[b], count * 2);
+        buckets[b][count] = slot;
+        counts[b] = count + 1;
+    }
+
+    /**
+     * Brings the slots in {@code [from, to)} up to date as of today and
+     * computes their due days; does not queue them.
+     */
+    private void catchUpRange(int from, int to) {
+        final byte[] stage = this.stage;
+        final byte[] maxStage = this.maxStage;
+        final float[] progress = this.progress;
+        final short[] kind = this.kind;
+        final int[] baseDay = this.baseDay;
+        final float[] growth = this.kindGrowth;
+        final int today = this.today;
+
+        for (int i = from; i < to; i++) {
+            int s = stage[i];
+            float p = progress[i] + growth[kind[i]] * (today - baseDay[i]);
+            int steps = Math.min((int) p, maxStage[i] - s);
+            stage[i] = (byte) (s + steps);
+            progress[i] = p - steps;
+            baseDay[i] = today;
+            due[i] = dueDay(i);
+        }
+    }
+
+    /**
+     * Splits a slot range in halves until it is small enough to run directly.
+     */
+    private final class CatchUpTask extends RecursiveAction {
+        private final int from, to;
+
+        CatchUpTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MIN_SEGMENT) {
+                catchUpRange(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CatchUpTask(from, mid), new CatchUpTask(mid, to));
+        }
+    }
+
+    /**
+     * Advances a single slot by one day using the same rule as
+     * {@link #advanceDay()}.
+     *
+     * @param slot slot to advance
+     */
+    void advance(int slot) {
+        advance(slot, 1);
+    }
+
+    /**
+     * Advances a single slot by several days on top of the store's own
+     * rollovers, using the same rule as {@link #advanceDays(int)}.
+     *
+     * @param slot slot to advance
+     * @param days number of days
+     */
+    void advance(int slot, int days) {
+        if (catchUp(slot, days) > 0 && listener != null && tag[slot] >= 0)
+            listener.onStageChanged(tag[slot]);
+        schedule(slot);
+    }
+
+    /**
+     * Returns the kind id for a crop class, registering it on first use.
+     */
+    private short kindOf(Crop crop) {
+        Short id = kindIds.get(crop.getClass());
+        if (id != null)
+            return id;
+
+        short next = (short) kindGrowth.length;
+        kindGrowth = Arrays.copyOf(kindGrowth, next + 1);
+        kindGrowth[next] = (float) crop.getDailyGrowth();
+        kindIds.put(crop.getClass(), next);
+        return next;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0)
+            return freeSlots[--freeCount];
+
+        if (high == stage.length) {
+            int capacity = stage.length * 2;
+            stage = Arrays.copyOf(stage, capacity);
+            maxStage = Arrays.copyOf(maxStage, capacity);
+            progress = Arrays.copyOf(progress, capacity);
+            kind = Arrays.copyOf(kind, capacity);
+            baseDay = Arrays.copyOf(baseDay, capacity);
+            due = Arrays.copyOf(due, capacity);
+            tag = Arrays.copyOf(tag, capacity);
+        }
+        return high++;
+    }
+
+    // Slot accessors used by attached crops
+    int getStage(int slot) {
+        return stage[slot];
+    }
+
+    int getMaxStage(int slot) {
+        return maxStage[slot];
+    }
+
+    float getProgress(int slot) {
+        return progress[slot] + kindGrowth[kind[slot]] * (today - baseDay[slot]);
+    }
+
+    /**
+     * Sets the listener told about stage changes during day rollover.
+     *
+     * @param listener listener, or null for none
+     */
+    public void setStageListener(StageListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the slot count from which a bulk catch-up runs in parallel.
+     * Use {@link Integer#MAX_VALUE} to always run serially.
+     *
+     * @param threshold minimum slot count for the parallel path
+     */
+    public void setParallelThreshold(int threshold) {
+        this.parallelThreshold = Math.max(1, threshold);
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets the pool used for a parallel catch-up.
+     *
+     * @param pool fork/join pool, defaults to the common pool
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the number of crops currently attached.
+     *
+     * @return attached crop count
+     */
+    public int size() {
+        return high - freeCount;
+    }
+
+    /**
+     * Returns the number of day rollovers this store has gone through.
+     *
+     * @return current store day
+     */
+    public int getDay() {
+        return today;
+    }
+}
@@ -13,6 +13,17 @@ public interface Growable {
      */
     void onNewDay();
 
+    /**
+     * Advances growth by several days at once, with the same result as
+     * calling {@link #onNewDay()} that many times, up to rounding.
+     *
+     * @param days number of days to advance, not negative
+     */
+    default void advanceDays(int days) {
+        for (int i = 0; i < days; i++)
+            onNewDay();
+    }
+
     /**
      * Checks if the crop is fully grown.
      * 
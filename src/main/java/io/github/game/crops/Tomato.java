@@ -3,6 +3,8 @@
 // ---------------------------
 package io.github.game.crops;
 
+import io.github.game.util.ItemRegistry;
+
 /**
  * Represents a tomato crop.
  * Growth takes ~5 days.
@@ -33,4 +35,14 @@ public class Tomato extends Crop {
     public int getHarvestYield() {
         return isFullyGrown() ? 2 : 1;
     }
+
+    /**
+     * Returns the inventory item for harvested tomato.
+     *
+     * @return {@link ItemRegistry#TOMATO}
+     */
+    @Override
+    public int getItemId() {
+        return ItemRegistry.TOMATO;
+    }
 }
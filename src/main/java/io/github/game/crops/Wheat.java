@@ -3,6 +3,8 @@
 // ---------------------------
 package io.github.game.crops;
 
+import io.github.game.util.ItemRegistry;
+
 /**
  * Represents a wheat crop.
  * Growth takes ~3 days.
@@ -34,4 +36,14 @@ public class Wheat extends Crop {
     public int getHarvestYield() {
         return isFullyGrown() ? 3 : 1;
     }
+
+    /**
+     * Returns the inventory item for harvested wheat.
+     *
+     * @return {@link ItemRegistry#WHEAT}
+     */
+    @Override
+    public int getItemId() {
+        return ItemRegistry.WHEAT;
+    }
 }
@@ -0,0 +1,105 @@
+// ---------------------------
+// File: src/main/java/io/github/game/engine/Camera.java
+// ---------------------------
+package io.github.game.engine;
+
+/**
+ * Tracks which part of the world is visible on the canvas.
+ * <p>
+ * The camera centers on a target position and is clamped to the world
+ * bounds, so it never shows space outside the map. When the world is smaller
+ * than the viewport the camera stays at the origin.
+ */
+public class Camera {
+
+    private final double viewWidth;
+    private final double viewHeight;
+    private double x, y;
+
+    /**
+     * Constructs a camera for a viewport of the given size.
+     *
+     * @param viewWidth  viewport width in pixels
+     * @param viewHeight viewport height in pixels
+     */
+    public Camera(double viewWidth, double viewHeight) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+    }
+
+    /**
+     * Centers the camera on a target, clamped to the world bounds.
+     *
+     * @param targetX     target x-position in pixels
+     * @param targetY     target y-position in pixels
+     * @param worldWidth  world width in pixels
+     * @param worldHeight world height in pixels
+     */
+    public void follow(double targetX, double targetY, double worldWidth, double worldHeight) {
+        x = clamp(targetX - viewWidth / 2, worldWidth - viewWidth);
+        y = clamp(targetY - viewHeight / 2, worldHeight - viewHeight);
+    }
+
+    private static double clamp(double value, double max) {
+        if (max <= 0)
+            return 0;
+        return Math.max(0, Math.min(value, max));
+    }
+
+    /**
+     * Returns the first tile column that intersects the viewport.
+     *
+     * @param tileSize tile size in pixels
+     * @return leftmost visible tile x-coordinate
+     */
+    public int firstTileX(int tileSize) {
+        return (int) Math.floor(x / tileSize);
+    }
+
+    /**
+     * Returns the first tile row that intersects the viewport.
+     *
+     * @param tileSize tile size in pixels
+     * @return topmost visible tile y-coordinate
+     */
+    public int firstTileY(int tileSize) {
+        return (int) Math.floor(y / tileSize);
+    }
+
+    /**
+     * Returns one past the last tile column that intersects the viewport.
+     *
+     * @param tileSize tile size in pixels
+     * @return exclusive right tile bound
+     */
+    public int endTileX(int tileSize) {
+        return (int) Math.ceil((x + viewWidth) / tileSize);
+    }
+
+    /**
+     * Returns one past the last tile row that intersects the viewport.
+     *
+     * @param tileSize tile size in pixels
+     * @return exclusive bottom tile bound
+     */
+    public int endTileY(int tileSize) {
+        return (int) Math.ceil((y + viewHeight) / tileSize);
+    }
+
+    // Getters
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getViewWidth() {
+        return viewWidth;
+    }
+
+    public double getViewHeight() {
+        return viewHeight;
+    }
+}
@@ -0,0 +1,137 @@
+// ---------------------------
+// File: src/main/java/io/github/game/engine/FrameProfiler.java
+// ---------------------------
+package io.github.game.engine;
+
+import java.util.Arrays;
+
+/**
+ * Rolling per-phase timings of the game loop and the renderer.
+ * <p>
+ * Every phase keeps its last {@link #WINDOW} samples in a preallocated ring
+ * buffer, so recording a sample is a couple of array stores and never
+ * allocates. Each phase is written by a single thread (the loop thread for
+ * ticks, the JavaFX thread for drawing); statistics may be read from another
+ * thread and are then approximate, which is fine for a debug overlay.
+ * <p>
+ * Percentiles are computed on demand by copying a ring into a scratch array
+ * and sorting it, which is only done when the overlay refreshes.
+ */
+public final class FrameProfiler {
+
+    /** Number of samples kept per phase. */
+    public static final int WINDOW = 256;
+
+    /**
+     * Measured phases, in overlay order.
+     */
+    public enum Phase {
+        /** A world tick without day rollover. */
+        UPDATE("update"),
+        /** A world tick that started a new day. */
+        DAY_ROLLOVER("new day"),
+        /** Copying the visible state into the render snapshot. */
+        SNAPSHOT("snapshot"),
+        /** How far the loop woke up from the time the next tick was due. */
+        JITTER("tick jitter"),
+        /** Time from publishing a snapshot to the first frame drawn from it. */
+        RENDER_DELAY("render delay"),
+        /** Ground layer refresh and blit. */
+        WORLD("world"),
+        FLYING_ITEMS("pickups"),
+        PLAYER("player"),
+        /** Inventory, toolbar and day counter. */
+        HUD("hud"),
+        /** Night tint and the controls overlay. */
+        OVERLAY("overlay"),
+        /** The whole render call. */
+        FRAME("frame");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long[][] samples = new long[PHASES.length][WINDOW];
+    private final long[] recorded = new long[PHASES.length];
+    private final long[] scratch = new long[WINDOW];
+
+    /**
+     * Records one duration for a phase.
+     *
+     * @param phase measured phase
+     * @param nanos duration in nanoseconds
+     */
+    public void record(Phase phase, long nanos) {
+        int i = phase.ordinal();
+        long n = recorded[i];
+        samples[i][(int) (n % WINDOW)] = nanos;
+        recorded[i] = n + 1;
+    }
+
+    /**
+     * Records the time since {@code start} for a phase and returns the
+     * current time, so consecutive phases can be chained:
+     * {@code t = profiler.mark(Phase.WORLD, t);}
+     *
+     * @param phase measured phase
+     * @param start {@link System#nanoTime()} when the phase began
+     * @return the current {@link System#nanoTime()}
+     */
+    public long mark(Phase phase, long start) {
+        long now = System.nanoTime();
+        record(phase, now - start);
+        return now;
+    }
+
+    /**
+     * Computes the 50th and 99th percentile and maximum of a phase's samples
+     * still in the window.
+     *
+     * @param phase phase to summarize
+     * @param into  receives {p50, p99, max} in nanoseconds; zeros if the
+     *              phase has no samples
+     * @return number of samples the statistics are based on
+     */
+    public int percentiles(Phase phase, long[] into) {
+        int i = phase.ordinal();
+        int count = (int) Math.min(recorded[i], WINDOW);
+        if (count == 0) {
+            into[0] = into[1] = into[2] = 0;
+            return 0;
+        }
+        System.arraycopy(samples[i], 0, scratch, 0, count);
+        Arrays.sort(scratch, 0, count);
+        into[0] = scratch[(count - 1) / 2];
+        into[1] = scratch[(int) Math.ceil(count * 0.99) - 1];
+        into[2] = scratch[count - 1];
+        return count;
+    }
+
+    /**
+     * Returns how many samples a phase has recorded in total.
+     *
+     * @param phase phase to query
+     * @return sample count since start
+     */
+    public long getRecorded(Phase phase) {
+        return recorded[phase.ordinal()];
+    }
+
+    /**
+     * Returns all phases in overlay order.
+     *
+     * @return phases; the array must not be modified
+     */
+    public static Phase[] phases() {
+        return PHASES;
+    }
+}
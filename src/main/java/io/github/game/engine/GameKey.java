@@ -0,0 +1,38 @@
+// ---------------------------
+// File: src/main/java/io/github/game/engine/GameKey.java
+// ---------------------------
+package io.github.game.engine;
+
+/**
+ * Keys that affect the simulation, independent of JavaFX key codes.
+ * <p>
+ * The ordinal is stored in input logs, so new keys must be appended at the
+ * end. Keys that only change what is drawn, such as the overlays, are not
+ * listed here and never recorded.
+ */
+public enum GameKey {
+    UP,
+    DOWN,
+    LEFT,
+    RIGHT,
+    /** Interact with the tile underneath the player (E). */
+    USE,
+    /** Interact like {@link #USE} (space); releasing it only ends tilling while the hoe is held. */
+    USE_ALT,
+    TOOL_1,
+    TOOL_2,
+    TOOL_3,
+    TOOL_4;
+
+    private static final GameKey[] KEYS = values();
+
+    /**
+     * Returns the key with the given ordinal.
+     *
+     * @param ordinal ordinal as stored in an input log
+     * @return the key, or null if out of range
+     */
+    public static GameKey of(int ordinal) {
+        return ordinal >= 0 && ordinal < KEYS.length ? KEYS[ordinal] : null;
+    }
+}
@@ -3,35 +3,78 @@
 // ---------------------------
 package io.github.game.engine;
 
+import java.util.concurrent.locks.LockSupport;
+
+import io.github.game.engine.FrameProfiler.Phase;
 import io.github.game.engine.Renderer.AudioManager;
+import io.github.game.jfr.TickOverrunEvent;
 import io.github.game.world.World;
 
 /**
  * Manages the main game loop, updating the world, rendering, and handling pause
  * state.
+ * <p>
+ * The world is updated on a fixed timestep. When the loop falls behind it runs
+ * up to {@link #MAX_CATCH_UP_TICKS} updates in one pass and drops any
+ * remaining backlog. Between passes the thread parks until the next tick is
+ * due on the fixed schedule, so the time spent ticking does not delay the
+ * next one; how late it wakes up is its jitter.
+ * <p>
+ * Each tick's duration and the wake-up jitter are recorded in the renderer's
+ * {@link FrameProfiler}, ticks that start a new day separately.
+ * <p>
+ * Queued key events are applied right before each tick, also while paused,
+ * so the player only changes on this thread and input is reproducible.
+ * <p>
+ * After its ticks the loop publishes a {@link RenderSnapshot} of the visible
+ * state, stamped with the time the last update stands for. The renderer
+ * draws from that on every JavaFX pulse and interpolates by the time elapsed
+ * since, so simulation and rendering never share mutable state, run in
+ * parallel and at their own rates.
  */
 public class GameLoop {
+
+    /** Maximum number of updates run back to back before a frame is requested. */
+    public static final int MAX_CATCH_UP_TICKS = 5;
+
+    /** Weight of the newest sample in the smoothed jitter value. */
+    private static final double JITTER_SMOOTHING = 1.0 / 16;
+
     private final World world;
     private final Renderer renderer;
+    private final PlayerInput input;
     private final int tps; // ticks per second
     private volatile boolean running = false;
     private volatile boolean paused = true;
     private Thread thread;
     private final AudioManager audioManager;
+    private final FrameProfiler profiler;
+    private final RenderSnapshot snapshot;
+
+    // Wake-up lateness relative to the scheduled tick time
+    private volatile double jitterNanos = 0;
+    private volatile long maxJitterNanos = 0;
 
     /**
      * Constructor.
      *
      * @param world          the game world
      * @param renderer       renderer for drawing the game
+     * @param input          queued key events to apply before each tick
      * @param ticksPerSecond update frequency
      * @param audioManager   handles background music
      */
-    public GameLoop(World world, Renderer renderer, int ticksPerSecond, AudioManager audioManager) {
+    public GameLoop(World world, Renderer renderer, PlayerInput input, int ticksPerSecond,
+            AudioManager audioManager) {
         this.world = world;
         this.renderer = renderer;
+        this.input = input;
         this.tps = Math.max(1, ticksPerSecond);
         this.audioManager = audioManager;
+        this.profiler = renderer.getProfiler();
+        this.snapshot = renderer.getSnapshot();
+        renderer.setTickNanos(1_000_000_000L / tps);
+        renderer.setLoop(this);
 
         // Automatically pause when overlay is shown
         this.renderer.setOverlayToggleCallback(() -> setPaused(renderer.isShowingOverlay()));
@@ -47,41 +90,124 @@ public class GameLoop {
         return paused;
     }
 
+    /**
+     * Returns the smoothed difference between when the loop woke up and when
+     * the next tick was due.
+     *
+     * @return average wake-up jitter in nanoseconds
+     */
+    public long getJitterNanos() {
+        return (long) jitterNanos;
+    }
+
+    /**
+     * Returns the largest wake-up jitter seen since the loop started.
+     *
+     * @return maximum jitter in nanoseconds
+     */
+    public long getMaxJitterNanos() {
+        return maxJitterNanos;
+    }
+
     /** Starts the game loop on a separate daemon thread. */
     public void start() {
         if (running)
             return;
         running = true;
-        thread = new Thread(() -> {
-            final long nsPerTick = 1_000_000_000L / tps;
-            long last = System.nanoTime();
-            while (running) {
-                long now = System.nanoTime();
-                if (now - last >= nsPerTick) {
-                    if (!paused) {
-                        world.update(); // only update when not paused
-                    }
-                    renderer.requestRender();
-                    last += nsPerTick;
-                } else {
-                    try {
-                        Thread.sleep(1);
-                    } catch (InterruptedException ignored) {
-                    }
-                }
-            }
-        }, "GameLoop");
+        thread = new Thread(this::run, "GameLoop");
         thread.setDaemon(true);
         thread.start();
     }
 
-    /** Stops the game loop and waits for the thread to finish. */
+    /**
+     * Fixed-timestep loop body.
+     */
+    private void run() {
+        final long nsPerTick = 1_000_000_000L / tps;
+        long previous = System.nanoTime();
+        long lag = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            lag += now - previous;
+            previous = now;
+
+            TickOverrunEvent overrun = new TickOverrunEvent();
+            overrun.begin();
+
+            int updates = 0;
+            while (lag >= nsPerTick && updates < MAX_CATCH_UP_TICKS) {
+                input.applyPending(world);
+                if (!paused) {
+                    long start = System.nanoTime();
+                    world.update(); // only update when not paused
+                    // A tick that lands on tick 0 ran the day rollover
+                    profiler.record(world.getDayCycle().getCurrentTick() == 0 ? Phase.DAY_ROLLOVER : Phase.UPDATE,
+                            System.nanoTime() - start);
+                }
+                lag -= nsPerTick;
+                updates++;
+            }
+
+            // Too far behind: drop the backlog instead of spiraling
+            long dropped = 0;
+            if (lag >= nsPerTick) {
+                dropped = lag - lag % nsPerTick;
+                lag -= dropped;
+            }
+
+            overrun.end();
+            if (overrun.shouldCommit() && (dropped > 0 || System.nanoTime() - now > nsPerTick)) {
+                overrun.updates = updates;
+                overrun.budget = nsPerTick;
+                overrun.dropped = dropped;
+                overrun.commit();
+            }
+
+            if (updates > 0) {
+                // One snapshot per pass; the last update was due lag ago
+                long start = System.nanoTime();
+                snapshot.publish(now - lag);
+                profiler.record(Phase.SNAPSHOT, System.nanoTime() - start);
+            }
+
+            // Park until the next tick is due, not a full tick after this pass's work
+            long due = now + nsPerTick - lag;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                recordJitter(System.nanoTime() - due);
+            }
+        }
+    }
+
+    private void recordJitter(long lateness) {
+        long abs = Math.abs(lateness);
+        profiler.record(Phase.JITTER, abs);
+        jitterNanos += (abs - jitterNanos) * JITTER_SMOOTHING;
+        if (abs > maxJitterNanos)
+            maxJitterNanos = abs;
+    }
+
+    /**
+     * Stops the game loop and waits until its thread has finished the tick
+     * in progress and exited. Once this returns the world is no longer
+     * touched by the loop and can be saved from the calling thread.
+     */
     public void stop() {
         running = false;
-        try {
-            if (thread != null)
-                thread.join(50);
-        } catch (InterruptedException ignored) {
+        if (thread == null)
+            return;
+        LockSupport.unpark(thread);
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
         }
+        if (interrupted)
+            Thread.currentThread().interrupt();
     }
 }
@@ -3,22 +3,22 @@
 // ---------------------------
 package io.github.game.engine;
 
-import io.github.game.entities.Direction;
-import io.github.game.entities.HoeTool;
-import io.github.game.entities.Player;
-import io.github.game.world.World;
 import javafx.scene.input.KeyCode;
 
 /**
  * Handles keyboard input and converts it into player actions or game commands.
+ * <p>
+ * Keys that affect the simulation are translated to {@link GameKey}s and
+ * queued on a {@link PlayerInput}, which the game loop applies before its next
+ * tick. Keys that only toggle overlays act on the renderer directly.
  */
 public class InputHandler {
-    private final World world;
+    private final PlayerInput input;
     private final Renderer renderer;
 
     /** Constructor. */
-    public InputHandler(World world, Renderer renderer) {
-        this.world = world;
+    public InputHandler(PlayerInput input, Renderer renderer) {
+        this.input = input;
         this.renderer = renderer;
     }
 
@@ -28,33 +28,15 @@ public class InputHandler {
      * @param code key code pressed
      */
     public void onKeyPressed(KeyCode code) {
-        Player p = world.getPlayer();
-
         switch (code) {
-            case W, UP -> p.move(0, -1, world, Direction.UP);
-            case S, DOWN -> p.move(0, 1, world, Direction.DOWN);
-            case A, LEFT -> p.move(-1, 0, world, Direction.LEFT);
-            case D, RIGHT -> p.move(1, 0, world, Direction.RIGHT);
-
-            case E, SPACE -> {
-
-                if (p.getSelectedTool() instanceof HoeTool) {
-                    p.startHoeHold();
-                }
-                p.interact(world); // planting/harvesting works instantly
-            }
-
             case ENTER -> renderer.toggleControlsOverlay();
-
-            case DIGIT1 -> p.selectTool(0);
-            case DIGIT2 -> p.selectTool(1);
-            case DIGIT3 -> p.selectTool(2);
-            case DIGIT4 -> p.selectTool(3);
+            case F3 -> renderer.toggleProfilerOverlay();
             default -> {
+                GameKey key = toGameKey(code);
+                if (key != null)
+                    input.submit(key, true);
             }
         }
-
-        renderer.requestRender();
     }
 
     /**
@@ -63,13 +45,30 @@ public class InputHandler {
      * @param code key code released
      */
     public void onKeyReleased(KeyCode code) {
-        Player p = world.getPlayer();
-        if (code == KeyCode.SPACE && p.getSelectedTool() instanceof HoeTool) {
-            p.stopHoeHold();
-        }
-        if (code == KeyCode.E) {
-            p.stopHoeHold();
-        }
-        p.stopMoving();
+        GameKey key = toGameKey(code);
+        if (key != null)
+            input.submit(key, false);
+    }
+
+    /**
+     * Maps a JavaFX key code to the game key it controls.
+     *
+     * @param code key code
+     * @return the game key, or null if the key does not affect the game
+     */
+    private static GameKey toGameKey(KeyCode code) {
+        return switch (code) {
+            case W, UP -> GameKey.UP;
+            case S, DOWN -> GameKey.DOWN;
+            case A, LEFT -> GameKey.LEFT;
+            case D, RIGHT -> GameKey.RIGHT;
+            case E -> GameKey.USE;
+            case SPACE -> GameKey.USE_ALT;
+            case DIGIT1 -> GameKey.TOOL_1;
+            case DIGIT2 -> GameKey.TOOL_2;
+            case DIGIT3 -> GameKey.TOOL_3;
+            case DIGIT4 -> GameKey.TOOL_4;
+            default -> null;
+        };
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+// ---------------------------
+// File: src/main/java/io/github/game/engine/InputRecorder.java
+// ---------------------------
+package io.github.game.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.github.game.world.World;
+import io.github.game.world.save.WorldSave;
+
+/**
+ * Writes the key events applied by {@link PlayerInput} to a compact binary
+ * input log that {@link InputReplay} can play back.
+ * <p>
+ * Layout (big-endian, varints are unsigned LEB128):
+ * <ol>
+ * <li>header: magic, format version, int length and the bytes of a
+ * {@link WorldSave} snapshot of the world when recording started</li>
+ * <li>events: varint ticks since the previous event (the first counts from
+ * the snapshot's tick), then one byte {@code key ordinal << 1 | pressed}</li>
+ * <li>end: varint ticks from the last event to the end of the recording,
+ * the byte {@link #END}, and the {@link InputReplay#stateHash(World) state
+ * hash} of the world at that point</li>
+ * </ol>
+ * A typical event takes two bytes. Events are buffered and written on the
+ * game loop thread; a write error stops the recording and is reported on
+ * {@code System.err} without disturbing the game.
+ */
+public final class InputRecorder implements AutoCloseable {
+
+    /** File signature, "FHIN". */
+    public static final int MAGIC = 0x4648494E;
+
+    /** Current format version. */
+    public static final int FORMAT_VERSION = 1;
+
+    /** Event byte that ends the log; no key event packs to this value. */
+    public static final int END = 0xFF;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path file;
+    private DataOutputStream out;
+    private long lastTick;
+    private long events = 0;
+
+    private InputRecorder(Path file, DataOutputStream out, long startTick) {
+        this.file = file;
+        this.out = out;
+        this.lastTick = startTick;
+    }
+
+    /**
+     * Starts a recording of the given world at its current state. The
+     * world must not be updated concurrently during this call.
+     * <p>
+     * Crop growth is {@link io.github.game.crops.CropStore#normalize()
+     * normalized} first, so the live world and the one loaded from the
+     * snapshot evolve bit for bit the same.
+     *
+     * @param world world that the recorded input will be applied to
+     * @param file  input log to create or replace
+     * @return the recorder, to attach to {@link PlayerInput#setRecorder}
+     * @throws IOException if the log cannot be written
+     */
+    public static InputRecorder start(World world, Path file) throws IOException {
+        world.getCropStore().normalize();
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        WorldSave.write(world, snapshot);
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+        try {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeInt(snapshot.size());
+            snapshot.writeTo(out);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+        return new InputRecorder(file, out, world.getDayCycle().getTotalTicks());
+    }
+
+    /**
+     * Appends one applied event.
+     *
+     * @param tick  total tick the event was applied at
+     * @param event packed event as produced by {@link PlayerInput}
+     */
+    synchronized void record(long tick, int event) {
+        if (out == null)
+            return;
+        try {
+            writeVarLong(out, tick - lastTick);
+            out.writeByte(event);
+            lastTick = tick;
+            events++;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Ends the recording with the final tick and state hash of the world
+     * and closes the log. The world must no longer be updated.
+     *
+     * @param world the recorded world
+     * @throws IOException if the log cannot be completed
+     */
+    public synchronized void finish(World world) throws IOException {
+        if (out == null)
+            return;
+        try (DataOutputStream o = out) {
+            out = null;
+            writeVarLong(o, world.getDayCycle().getTotalTicks() - lastTick);
+            o.writeByte(END);
+            o.writeInt(InputReplay.stateHash(world));
+        }
+    }
+
+    /**
+     * Closes the log without an end marker; {@link InputReplay} rejects it.
+     */
+    @Override
+    public synchronized void close() {
+        if (out == null)
+            return;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+        }
+        out = null;
+    }
+
+    private void fail(IOException e) {
+        System.err.println("Input recording to " + file + " stopped: " + e.getMessage());
+        close();
+    }
+
+    /**
+     * Returns the number of events written so far.
+     *
+     * @return event count
+     */
+    public synchronized long getEvents() {
+        return events;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
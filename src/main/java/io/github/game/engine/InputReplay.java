@@ -0,0 +1,259 @@
+// ---------------------------
+// File: src/main/java/io/github/game/engine/InputReplay.java
+// ---------------------------
+package io.github.game.engine;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import io.github.game.crops.Crop;
+import io.github.game.entities.Player;
+import io.github.game.util.ItemRegistry;
+import io.github.game.world.World;
+import io.github.game.world.save.WorldSave;
+import io.github.game.world.tiles.AbstractTile;
+import io.github.game.world.tiles.DirtTile;
+
+/**
+ * Plays an input log written by {@link InputRecorder} back against a world
+ * without JavaFX, as fast as the CPU allows, and checks that it ends in the
+ * recorded state.
+ * <p>
+ * The world is loaded from the snapshot in the log and given the starter
+ * tools, like a freshly started game. Every event is applied through
+ * {@link PlayerInput#apply} right before the tick it was recorded at, the
+ * same way the game loop applies live input, and the ticks in between run
+ * back to back on a {@link HeadlessEngine}. Since the simulation is
+ * deterministic, the final {@link #stateHash(World)} must equal the one
+ * stored in the log; a difference means the simulation changed behaviour.
+ * That makes recorded sessions usable as repeatable load profiles for
+ * performance regression runs.
+ */
+public final class InputReplay {
+
+    private final byte[] snapshot;
+    private final long[] ticks;
+    private final int[] events;
+    private final long endTick;
+    private final int expectedHash;
+
+    private InputReplay(byte[] snapshot, long[] ticks, int[] events, long endTick, int expectedHash) {
+        this.snapshot = snapshot;
+        this.ticks = ticks;
+        this.events = events;
+        this.endTick = endTick;
+        this.expectedHash = expectedHash;
+    }
+
+    /**
+     * Outcome of one replay.
+     */
+    public static final class Result {
+        public final World world;
+        public final long ticks;
+        public final int events;
+        public final long nanos;
+        public final int expectedHash;
+        public final int actualHash;
+
+        Result(World world, long ticks, int events, long nanos, int expectedHash, int actualHash) {
+            this.world = world;
+            this.ticks = ticks;
+            this.events = events;
+            this.nanos = nanos;
+            this.expectedHash = expectedHash;
+            this.actualHash = actualHash;
+        }
+
+        /** Returns true if the replay ended in the recorded state. */
+        public boolean matches() {
+            return expectedHash == actualHash;
+        }
+    }
+
+    /**
+     * Reads an input log fully into memory, so replaying it does no I/O.
+     *
+     * @param file input log
+     * @return the parsed log
+     * @throws IOException if the file cannot be read or is not a complete log
+     */
+    public static InputReplay load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != InputRecorder.MAGIC)
+                throw new IOException("Not an input log: " + file);
+            int version = in.readUnsignedShort();
+            if (version != InputRecorder.FORMAT_VERSION)
+                throw new IOException("Unsupported input log version " + version + " in " + file);
+
+            int length = in.readInt();
+            if (length < 0)
+                throw new IOException("Corrupt input log " + file);
+            byte[] snapshot = new byte[length];
+            in.readFully(snapshot);
+
+            // The start tick lives in the snapshot; deltas are relative to it
+            long tick = WorldSave.read(new ByteArrayInputStream(snapshot)).getDayCycle().getTotalTicks();
+            long[] ticks = new long[64];
+            int[] events = new int[64];
+            int count = 0;
+            while (true) {
+                tick += readVarLong(in);
+                int event = in.readUnsignedByte();
+                if (event == InputRecorder.END)
+                    return new InputReplay(snapshot, Arrays.copyOf(ticks, count), Arrays.copyOf(events, count),
+                            tick, in.readInt());
+                if (PlayerInput.keyOf(event) == null)
+                    throw new IOException("Unknown key event " + event + " in " + file);
+                if (count == ticks.length) {
+                    ticks = Arrays.copyOf(ticks, count * 2);
+                    events = Arrays.copyOf(events, count * 2);
+                }
+                ticks[count] = tick;
+                events[count++] = event;
+            }
+        } catch (EOFException e) {
+            throw new IOException("Input log " + file + " is incomplete; was the game closed normally?", e);
+        }
+    }
+
+    /**
+     * Replays the log on a fresh world loaded from its snapshot.
+     *
+     * @return the final world, timing and both hashes
+     * @throws IOException if the snapshot is invalid
+     */
+    public Result run() throws IOException {
+        World world = WorldSave.read(new ByteArrayInputStream(snapshot));
+        world.getPlayer().equipStarterTools();
+        HeadlessEngine engine = new HeadlessEngine(world);
+
+        long tick = world.getDayCycle().getTotalTicks();
+        int next = 0;
+        long start = System.nanoTime();
+        while (true) {
+            while (next < events.length && ticks[next] == tick) {
+                int event = events[next++];
+                PlayerInput.apply(world, PlayerInput.keyOf(event), PlayerInput.isPress(event));
+            }
+            if (tick >= endTick)
+                break;
+            engine.tick();
+            tick++;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new Result(world, engine.getTicks(), events.length, elapsed, expectedHash, stateHash(world));
+    }
+
+    /**
+     * Computes a CRC-32 over everything the simulation determines: the
+     * clock, the player's position, pose, tool and inventory, every tile's
+     * type and every crop's kind, stage and progress. Two worlds with equal
+     * state hash equally however their memory happens to be laid out.
+     *
+     * @param world world to hash; must not be updated concurrently
+     * @return state hash
+     */
+    public static int stateHash(World world) {
+        CRC32 crc = new CRC32();
+        Player p = world.getPlayer();
+
+        ByteBuffer head = ByteBuffer.allocate(64);
+        head.putInt(world.getWidth()).putInt(world.getHeight());
+        head.putInt(world.getDayCycle().getCurrentTick()).putInt(world.getDayCycle().getDayCount());
+        head.putInt(p.getX()).putInt(p.getY());
+        head.putDouble(p.getRenderX()).putDouble(p.getRenderY());
+        head.put((byte) p.getDirection().ordinal()).put((byte) p.getAction().ordinal());
+        head.putInt(p.getAnimFrame()).putInt(p.getSelectedToolIndex());
+        head.put((byte) (p.isInteractReady() ? 1 : 0));
+        crc.update(head.flip());
+
+        int[] counts = new int[ItemRegistry.size()];
+        p.getInventory().snapshot(counts);
+        ByteBuffer items = ByteBuffer.allocate(counts.length * Integer.BYTES);
+        items.asIntBuffer().put(counts);
+        crc.update(items);
+
+        // Per tile: type, and for planted dirt the crop's item id, stage and progress
+        ByteBuffer row = ByteBuffer.allocate(world.getWidth() * 7);
+        for (int y = 0; y < world.getHeight(); y++) {
+            row.clear();
+            for (int x = 0; x < world.getWidth(); x++) {
+                AbstractTile tile = world.getTile(x, y);
+                row.put((byte) tile.getType().ordinal());
+                if (tile instanceof DirtTile dirt && dirt.hasCrop()) {
+                    Crop crop = dirt.getCrop();
+                    row.put((byte) crop.getItemId()).put((byte) crop.getGrowthStage());
+                    row.putFloat((float) crop.getGrowthProgress());
+                }
+            }
+            crc.update(row.flip());
+        }
+        return (int) crc.getValue();
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public int getEventCount() {
+        return events.length;
+    }
+
+    public long getEndTick() {
+        return endTick;
+    }
+
+    /**
+     * Replays an input log and prints the tick rate and whether the final
+     * state matches the recording. Exits with status 1 on a mismatch.
+     * <p>
+     * Arguments: {@code file [runs]}; later runs replay the same log again
+     * on a fresh world, which gives the JIT time to warm up.
+     *
+     * @param args command-line arguments
+     * @throws IOException if the log cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: InputReplay <input log> [runs]");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[0]);
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        InputReplay replay = load(file);
+        boolean ok = true;
+        for (int run = 1; run <= runs; run++) {
+            Result r = replay.run();
+            double seconds = r.nanos / 1e9;
+            System.out.printf("Run %d: replayed %d ticks and %d events on %dx%d in %.3f s, %.0f ticks/s%n",
+                    run, r.ticks, r.events, r.world.getWidth(), r.world.getHeight(), seconds, r.ticks / seconds);
+            if (r.matches()) {
+                System.out.printf("State hash %08x matches the recording%n", r.actualHash);
+            } else {
+                System.out.printf("State hash %08x does not match the recorded %08x%n", r.actualHash, r.expectedHash);
+                ok = false;
+            }
+        }
+        if (!ok)
+            System.exit(1);
+    }
+}
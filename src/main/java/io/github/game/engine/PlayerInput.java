@@ -0,0 +1,143 @@
+// ---------------------------
+// File: src/main/java/io/github/game/engine/PlayerInput.java
+// ---------------------------
+package io.github.game.engine;
+
+import java.util.Arrays;
+
+import io.github.game.entities.Direction;
+import io.github.game.entities.HoeTool;
+import io.github.game.entities.Player;
+import io.github.game.world.World;
+
+/**
+ * Queues key events and applies them to the player between world ticks.
+ * <p>
+ * Events are submitted on the JavaFX thread and applied on the game loop
+ * thread right before the next tick, so the simulation only ever changes
+ * on one thread and each event lands at a well-defined tick. That makes a
+ * session reproducible: an attached {@link InputRecorder} logs every event
+ * with the {@link io.github.game.world.DayCycle} tick it was applied at,
+ * and {@link InputReplay} applies them at the same ticks to get the same
+ * world.
+ * <p>
+ * An event is packed into an int as {@code key ordinal << 1 | pressed}.
+ */
+public class PlayerInput {
+
+    private int[] pending = new int[16];
+    private int pendingCount = 0;
+
+    /** Swapped with {@link #pending} on drain, so submitting never waits for the loop. */
+    private int[] draining = new int[16];
+
+    private volatile InputRecorder recorder;
+
+    /**
+     * Queues a key press or release. May be called from any thread.
+     *
+     * @param key     key that changed
+     * @param pressed true for a press, false for a release
+     */
+    public synchronized void submit(GameKey key, boolean pressed) {
+        if (pendingCount == pending.length)
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        pending[pendingCount++] = encode(key, pressed);
+    }
+
+    /**
+     * Applies all queued events in submission order and records them.
+     * Must be called on the thread that updates the world, before the tick.
+     *
+     * @param world world whose player receives the events
+     */
+    public void applyPending(World world) {
+        int[] events;
+        int count;
+        synchronized (this) {
+            if (pendingCount == 0)
+                return;
+            events = pending;
+            count = pendingCount;
+            pending = draining;
+            pendingCount = 0;
+            draining = events;
+        }
+
+        long tick = world.getDayCycle().getTotalTicks();
+        InputRecorder rec = recorder;
+        for (int i = 0; i < count; i++) {
+            int event = events[i];
+            apply(world, keyOf(event), isPress(event));
+            if (rec != null)
+                rec.record(tick, event);
+        }
+    }
+
+    /**
+     * Sets the recorder that logs applied events.
+     *
+     * @param recorder recorder, or null to stop recording
+     */
+    public void setRecorder(InputRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public InputRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Applies one key event to the player. This is the only place key events
+     * change the simulation, shared by live play and replays.
+     *
+     * @param world   the game world
+     * @param key     key that changed
+     * @param pressed true for a press, false for a release
+     */
+    public static void apply(World world, GameKey key, boolean pressed) {
+        Player p = world.getPlayer();
+
+        if (!pressed) {
+            if (key == GameKey.USE_ALT && p.getSelectedTool() instanceof HoeTool) {
+                p.stopHoeHold();
+            }
+            if (key == GameKey.USE) {
+                p.stopHoeHold();
+            }
+            p.stopMoving();
+            return;
+        }
+
+        switch (key) {
+            case UP -> p.move(0, -1, world, Direction.UP);
+            case DOWN -> p.move(0, 1, world, Direction.DOWN);
+            case LEFT -> p.move(-1, 0, world, Direction.LEFT);
+            case RIGHT -> p.move(1, 0, world, Direction.RIGHT);
+
+            case USE, USE_ALT -> {
+                if (p.getSelectedTool() instanceof HoeTool) {
+                    p.startHoeHold();
+                }
+                p.interact(world); // planting/harvesting works instantly
+            }
+
+            case TOOL_1 -> p.selectTool(0);
+            case TOOL_2 -> p.selectTool(1);
+            case TOOL_3 -> p.selectTool(2);
+            case TOOL_4 -> p.selectTool(3);
+        }
+    }
+
+    static int encode(GameKey key, boolean pressed) {
+        return key.ordinal() << 1 | (pressed ? 1 : 0);
+    }
+
+    static GameKey keyOf(int event) {
+        return GameKey.of(event >>> 1);
+    }
+
+    static boolean isPress(int event) {
+        return (event & 1) != 0;
+    }
+}
@@ -0,0 +1,290 @@
+// ---------------------------
+// File: src/main/java/io/github/game/engine/RenderSnapshot.java
+// ---------------------------
+package io.github.game.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.github.game.crops.Crop;
+import io.github.game.entities.Player;
+import io.github.game.util.ItemRegistry;
+import io.github.game.world.DayCycle;
+import io.github.game.world.World;
+import io.github.game.world.tiles.AbstractTile;
+import io.github.game.world.tiles.DirtTile;
+import io.github.game.world.tiles.TileType;
+
+/**
+ * Hands the state the renderer draws from the game loop thread to the JavaFX
+ * thread, so the renderer never reads the live {@link World}.
+ * <p>
+ * The loop thread copies everything visible into a {@link Frame} after its
+ * ticks: the player's pose, tool and inventory, the clock, the tiles of a
+ * window around the viewport and the pickups since the last frame. Three
+ * frames rotate between the two threads (triple buffering): the loop thread
+ * fills its back frame and swaps it with the ready one, and the renderer
+ * swaps its front frame with the ready one if that is newer. Neither thread
+ * ever waits for the other or touches a frame the other one owns, so
+ * simulation and rendering run fully in parallel.
+ * <p>
+ * The tile window is a full copy rather than a list of changes, so a frame
+ * the renderer skips loses nothing; the renderer compares it with what it
+ * drew last and redraws only the tiles that differ. Pickups are events, so
+ * those of a frame that was never shown are carried over to the next one.
+ */
+public final class RenderSnapshot {
+
+    /**
+     * Everything the renderer needs for one frame. Owned by one thread at a
+     * time; the renderer may keep reading its frame until the next
+     * {@link #acquire()}.
+     */
+    public static final class Frame {
+        /** Publication number; increases with every published frame. */
+        long sequence;
+
+        // System.nanoTime() the last update stands for, and when the frame was published
+        long updatedAt, publishedAt;
+
+        // Set when published, cleared when the renderer takes the frame
+        boolean fresh;
+
+        // Clock
+        int dayCount, dayTick, dayLength;
+        double nightAlpha;
+
+        // Player pose; positions before and after the last tick, for interpolation
+        double prevX, prevY, x, y;
+        int direction, action, animFrame, selectedTool;
+
+        // Inventory counts by item id and the version they were copied at
+        final int[] items;
+        long itemsVersion = -1;
+
+        // Tile window, row-major, see tileCode
+        int originX, originY;
+        final int cols, rows;
+        final short[] tiles;
+
+        // Pickups since the last frame shown: (tileX, tileY, itemId) triples
+        int[] pickups = new int[12];
+        int pickupCount;
+
+        Frame(int cols, int rows, int itemCapacity) {
+            this.cols = cols;
+            this.rows = rows;
+            this.tiles = new short[cols * rows];
+            this.items = new int[itemCapacity];
+        }
+
+        /**
+         * Returns the player's x-position blended between the last two ticks.
+         *
+         * @param alpha fraction of a tick elapsed since the last update (0-1)
+         * @return interpolated x-position in tiles
+         */
+        double renderX(double alpha) {
+            return prevX + (x - prevX) * alpha;
+        }
+
+        /**
+         * Returns the player's y-position blended between the last two ticks.
+         *
+         * @param alpha fraction of a tick elapsed since the last update (0-1)
+         * @return interpolated y-position in tiles
+         */
+        double renderY(double alpha) {
+            return prevY + (y - prevY) * alpha;
+        }
+
+        private void addPickup(int tileX, int tileY, int itemId) {
+            if (pickupCount + 3 > pickups.length)
+                pickups = Arrays.copyOf(pickups, pickups.length * 2);
+            pickups[pickupCount++] = tileX;
+            pickups[pickupCount++] = tileY;
+            pickups[pickupCount++] = itemId;
+        }
+    }
+
+    private static final TileType[] TILE_TYPES = TileType.values();
+
+    private final World world;
+    private final Camera camera;
+    private final int tileSize;
+    private final int margin;
+    private final int cols, rows;
+
+    // Loop thread: the frame being filled and the window position
+    private Frame back;
+    private long published = 0;
+    private int originX = 0, originY = 0;
+
+    private final AtomicReference<Frame> ready;
+
+    // JavaFX thread: the frame being drawn
+    private Frame front;
+
+    /**
+     * Creates the snapshot buffers for a viewport and collects the player's
+     * pickups from now on.
+     *
+     * @param world      world to copy from
+     * @param viewWidth  viewport width in pixels
+     * @param viewHeight viewport height in pixels
+     * @param tileSize   tile size in pixels
+     * @param margin     tiles copied beyond each edge of the viewport
+     */
+    public RenderSnapshot(World world, double viewWidth, double viewHeight, int tileSize, int margin) {
+        this.world = world;
+        this.camera = new Camera(viewWidth, viewHeight);
+        this.tileSize = tileSize;
+        this.margin = margin;
+
+        int viewCols = (int) Math.ceil(viewWidth / tileSize) + 1;
+        int viewRows = (int) Math.ceil(viewHeight / tileSize) + 1;
+        cols = Math.min(viewCols + 2 * margin, world.getWidth());
+        rows = Math.min(viewRows + 2 * margin, world.getHeight());
+
+        back = new Frame(cols, rows, ItemRegistry.CAPACITY);
+        front = new Frame(cols, rows, ItemRegistry.CAPACITY);
+        ready = new AtomicReference<>(new Frame(cols, rows, ItemRegistry.CAPACITY));
+
+        // Harvests happen on the loop thread, which owns the back frame
+        world.getPlayer().setPickupCallback(p -> back.addPickup(p.tileX, p.tileY, p.itemId));
+    }
+
+    /**
+     * Copies the current world state into a frame and makes it the newest.
+     * Must be called on the thread that updates the world, between ticks.
+     *
+     * @param updatedAt {@link System#nanoTime()} at which the last update was
+     *                  due; the renderer interpolates from there
+     */
+    public void publish(long updatedAt) {
+        Frame f = back;
+        Player p = world.getPlayer();
+        DayCycle cycle = world.getDayCycle();
+
+        f.dayCount = cycle.getDayCount();
+        f.dayTick = cycle.getCurrentTick();
+        f.dayLength = cycle.getDayLength();
+        f.nightAlpha = cycle.getNightAlpha();
+
+        f.prevX = p.getRenderX(0);
+        f.prevY = p.getRenderY(0);
+        f.x = p.getRenderX();
+        f.y = p.getRenderY();
+        f.direction = p.getDirection().ordinal();
+        f.action = p.getAction().ordinal();
+        f.animFrame = p.getAnimFrame();
+        f.selectedTool = p.getSelectedToolIndex();
+
+        if (p.getInventory().getVersion() != f.itemsVersion)
+            f.itemsVersion = p.getInventory().snapshot(f.items);
+
+        moveWindow(f.x, f.y);
+        copyTiles(f);
+
+        f.updatedAt = updatedAt;
+        f.publishedAt = System.nanoTime();
+        f.sequence = ++published;
+        f.fresh = true;
+        back = ready.getAndSet(f);
+
+        // A frame that comes back unseen still owes its pickups to the renderer
+        if (!back.fresh)
+            back.pickupCount = 0;
+    }
+
+    /**
+     * Returns the newest published frame. Must always be called on the same
+     * thread; the frame stays valid until the next call.
+     *
+     * @return newest frame, or the previous one if nothing new was published
+     */
+    public Frame acquire() {
+        // Only the loop thread replaces a fresh ready frame, and only with a newer one
+        if (ready.get().fresh) {
+            front.fresh = false;
+            front = ready.getAndSet(front);
+        }
+        return front;
+    }
+
+    /**
+     * Moves the window when the viewport around the player, plus a tile of
+     * slack for interpolation, is no longer inside it. Follows the same
+     * camera rule as the renderer.
+     */
+    private void moveWindow(double px, double py) {
+        camera.follow((px + 0.5) * tileSize, (py + 0.5) * tileSize,
+                world.getWidth() * tileSize, world.getHeight() * tileSize);
+        int firstX = Math.max(0, camera.firstTileX(tileSize) - 1);
+        int firstY = Math.max(0, camera.firstTileY(tileSize) - 1);
+        int endX = Math.min(camera.endTileX(tileSize) + 1, world.getWidth());
+        int endY = Math.min(camera.endTileY(tileSize) + 1, world.getHeight());
+
+        if (firstX >= originX && endX <= originX + cols && firstY >= originY && endY <= originY + rows)
+            return;
+
+        originX = Math.max(0, Math.min(camera.firstTileX(tileSize) - margin, world.getWidth() - cols));
+        originY = Math.max(0, Math.min(camera.firstTileY(tileSize) - margin, world.getHeight() - rows));
+    }
+
+    private void copyTiles(Frame f) {
+        f.originX = originX;
+        f.originY = originY;
+        short[] tiles = f.tiles;
+        int i = 0;
+        for (int y = originY; y < originY + rows; y++) {
+            for (int x = originX; x < originX + cols; x++)
+                tiles[i++] = tileCode(world.getTile(x, y));
+        }
+    }
+
+    /**
+     * Packs what a tile looks like: type ordinal in bits 0-1, crop stage in
+     * bits 2-4 and crop item id plus one in bits 5 and up, 0 for no crop.
+     */
+    static short tileCode(AbstractTile tile) {
+        int code = tile.getType().ordinal();
+        if (tile instanceof DirtTile dirt && dirt.hasCrop()) {
+            Crop c = dirt.getCrop();
+            code |= c.getGrowthStage() << 2 | (c.getItemId() + 1) << 5;
+        }
+        return (short) code;
+    }
+
+    static TileType typeOf(short code) {
+        return TILE_TYPES[code & 3];
+    }
+
+    static int stageOf(short code) {
+        return (code >>> 2) & 7;
+    }
+
+    /** Returns the crop's item id, or -1 if the tile has no crop. */
+    static int cropOf(short code) {
+        return (code >>> 5) - 1;
+    }
+
+    /** Returns the width of the tile window in tiles. */
+    public int getCols() {
+        return cols;
+    }
+
+    /** Returns the height of the tile window in tiles. */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns how many frames have been published.
+     *
+     * @return publication count
+     */
+    public long getPublished() {
+        return published;
+    }
+}
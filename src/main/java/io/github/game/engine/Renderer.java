@@ -3,25 +3,28 @@
 // ---------------------------
 package io.github.game.engine;
 
-import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
-import io.github.game.crops.Crop;
-import io.github.game.crops.Tomato;
-import io.github.game.crops.Wheat;
+import io.github.game.engine.FrameProfiler.Phase;
+import io.github.game.engine.RenderSnapshot.Frame;
 import io.github.game.entities.Player;
 import io.github.game.entities.PlayerAction;
 import io.github.game.entities.Tool;
-import io.github.game.util.ResourceManager;
+import io.github.game.jfr.FrameEvent;
+import io.github.game.util.AssetLoader;
+import io.github.game.util.ItemRegistry;
+import io.github.game.util.TextureAtlas;
+import io.github.game.util.TextureAtlas.Region;
 import io.github.game.world.World;
-import io.github.game.world.tiles.AbstractTile;
-import javafx.application.Platform;
+import javafx.animation.AnimationTimer;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
-import javafx.scene.media.Media;
+import javafx.scene.image.WritableImage;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -41,8 +44,24 @@ import javafx.scene.text.Text;
  * <li>Night/day visual effects</li>
  * </ul>
  * <p>
- * The Renderer also handles animation updates and rendering requests via the
- * JavaFX Platform thread.
+ * The Renderer also handles animation updates on the JavaFX Platform thread.
+ * An {@link AnimationTimer} renders once per JavaFX pulse, independent of the
+ * tick rate, and places the player between the last two ticks by the time
+ * elapsed since the last update.
+ * <p>
+ * The renderer never reads the live {@link World}: the game loop publishes a
+ * {@link RenderSnapshot} after its ticks and every frame is drawn from the
+ * newest one, so the world is only ever touched by the loop thread.
+ * <p>
+ * Tiles and crops are composed into an off-screen ground layer. Only tiles
+ * that differ from the last snapshot drawn are redrawn there, and each frame
+ * blits the cached layer as a single image before drawing the dynamic layers
+ * (player, flying items, HUD).
+ * <p>
+ * A {@link Camera} follows the player. The ground layer only covers the tiles
+ * around the viewport plus a margin, the window the snapshot copies, and
+ * moves with it, so the cost of a frame does not depend on the size of the
+ * map.
  */
 public final class Renderer {
 
@@ -52,20 +71,48 @@ public final class Renderer {
     private final GraphicsContext gc;
     private final int tileSize = 40;
 
+    // Camera following the player
+    private final Camera camera;
+
+    // Tiles kept in the ground layer beyond each edge of the viewport
+    private static final int CACHE_MARGIN = 8;
+
+    // State published by the game loop; the only source of what is drawn
+    private final RenderSnapshot snapshot;
+    private long shownSequence = -1;
+
+    // Cached ground layer (tiles and crops) and the tile codes drawn into it.
+    // The layer covers cacheCols x cacheRows tiles starting at cacheOriginX/Y,
+    // the same window as the snapshot's.
+    private final Canvas groundCanvas;
+    private final GraphicsContext groundGc;
+    private final WritableImage groundImage;
+    private final SnapshotParameters snapshotParams = new SnapshotParameters();
+    private final short[] drawnTiles;
+    private final int cacheCols, cacheRows;
+    private int cacheOriginX = 0, cacheOriginY = 0;
+
+    // All sprites live in one atlas image and are drawn by region
+    private final TextureAtlas atlas;
+
     // Tiles
-    private final Image grassImg;
-    private final Image dirtImg;
-    private final Image waterImg;
+    private final Region grassImg;
+    private final Region dirtImg;
+    private final Region waterImg;
 
     // Crops
-    private final Image[] wheatStages = new Image[6];
-    private final Image[] tomatoStages = new Image[6];
+    private final Region[] wheatStages = new Region[6];
+    private final Region[] tomatoStages = new Region[6];
 
     // Player animations
-    private final Image[][] walkSprites = new Image[4][4];
-    private final Image[][] hoeSprites = new Image[4][2];
+    private final Region[][] walkSprites = new Region[4][4];
+    private final Region[][] hoeSprites = new Region[4][2];
     private static final int WALK_SIZE = 40;
     private static final int HOE_SIZE = 60;
+    private static final int HOEING = PlayerAction.HOEING.ordinal();
+
+    // Toolbar icons; the player's tools are fixed once the game starts
+    private final Region[] toolIcons;
 
     // UI
     private final List<FlyingItem> flyingItems = new ArrayList<>();
@@ -73,129 +120,396 @@ public final class Renderer {
     private Runnable onOverlayToggled;
     private double menuAnimTime = 0; // Menu animation
 
+    // Inventory HUD: items shown and labels for the inventory version drawn last
+    private static final int[] HUD_ITEMS = { ItemRegistry.WHEAT, ItemRegistry.TOMATO };
+    private final String[] hudLabels = new String[HUD_ITEMS.length];
+    private long hudVersion = -1;
+
+    // Assets decoded before the renderer was created
+    private final AssetLoader.Assets assets;
+
+    // Length of a world tick, and the fraction of one elapsed since the last
+    // update at the current frame
+    private volatile long tickNanos = 0;
+    private double interpolation = 1.0;
+
+    // Per-phase timings and the overlay text, which is rebuilt a few times
+    // per second rather than every frame
+    private static final long PROFILER_REFRESH_NANOS = 500_000_000L;
+    private final FrameProfiler profiler = new FrameProfiler();
+    private final String[] profilerLines = new String[FrameProfiler.phases().length];
+    private final long[] profilerStats = new long[3];
+    private String jitterLine = "";
+    private String firstFrameLine = "";
+    private long profilerRefreshedAt = 0;
+    private boolean showProfiler = false;
+
+    // Loop driving the world, for its jitter statistics; null until it exists
+    private volatile GameLoop loop;
+
+    // Startup: launch time, time until the first frame was drawn (0 before
+    // that) and the overlay lines for the asset load timings
+    private long startNanos = 0;
+    private long firstFrameNanos = 0;
+    private String[] startupLines = new String[0];
+
+    // Draws a frame on every JavaFX pulse
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            render(now);
+        }
+    };
+
     /**
      * Constructs a Renderer for the given world and canvas.
      * <p>
-     * Loads tile and crop images, player animations, and sets up the pickup
-     * callback.
+     * Looks up tile and crop images, player animations and tool icons in the
+     * preloaded sprite atlas, and publishes the first snapshot. Must be
+     * called before the game loop starts.
      *
      * @param world  the game world to render
      * @param canvas the JavaFX Canvas to draw on
-     * @param player the Player object, used for animations and pickup callbacks
+     * @param player the Player object, whose tools are shown in the toolbar
+     * @param assets decoded atlas, fonts and music from {@link AssetLoader}
      */
-    public Renderer(World world, Canvas canvas, Player player) {
+    public Renderer(World world, Canvas canvas, Player player, AssetLoader.Assets assets) {
         this.world = world;
         this.canvas = canvas;
         this.gc = canvas.getGraphicsContext2D();
 
+        camera = new Camera(canvas.getWidth(), canvas.getHeight());
+
+        // Ground layer: viewport plus margin, clipped to the world size.
+        // Nothing counts as drawn yet, so the first frame fills it completely.
+        snapshot = new RenderSnapshot(world, canvas.getWidth(), canvas.getHeight(), tileSize, CACHE_MARGIN);
+        cacheCols = snapshot.getCols();
+        cacheRows = snapshot.getRows();
+        groundCanvas = new Canvas(cacheCols * tileSize, cacheRows * tileSize);
+        groundGc = groundCanvas.getGraphicsContext2D();
+        groundImage = new WritableImage(cacheCols * tileSize, cacheRows * tileSize);
+        snapshotParams.setFill(Color.TRANSPARENT);
+        drawnTiles = new short[cacheCols * cacheRows];
+        Arrays.fill(drawnTiles, (short) -1);
+
+        // Preloaded assets
+        this.assets = assets;
+        atlas = assets.atlas;
+        pixelFont = assets.pixelFont;
+        FONT_SMALL = assets.fontSmall;
+        FONT_MEDIUM = assets.fontMedium;
+        FONT_LARGE = assets.fontLarge;
+
         // Tiles
-        grassImg = ResourceManager.loadImage("tiles/grass.png");
-        dirtImg = ResourceManager.loadImage("tiles/dirt.png");
-        waterImg = ResourceManager.loadImage("tiles/water.png");
+        grassImg = atlas.get("tiles/grass.png");
+        dirtImg = atlas.get("tiles/dirt.png");
+        waterImg = atlas.get("tiles/water.png");
 
         // Crops
         for (int i = 0; i < 6; i++) {
-            wheatStages[i] = ResourceManager.loadImage("crops/wheat_stage_" + i + ".png");
-            tomatoStages[i] = ResourceManager.loadImage("crops/tomato_stage_" + i + ".png");
+            wheatStages[i] = atlas.get("crops/wheat_stage_" + i + ".png");
+            tomatoStages[i] = atlas.get("crops/tomato_stage_" + i + ".png");
         }
 
         // Player animations
         for (int d = 0; d < 4; d++) {
             for (int f = 0; f < 4; f++)
-                walkSprites[d][f] = ResourceManager.loadImage("player/walk_" + d + "_" + f + ".png");
+                walkSprites[d][f] = atlas.get("player/walk_" + d + "_" + f + ".png");
+            for (int f = 0; f < 2; f++)
+                hoeSprites[d][f] = atlas.get("player/hoe_" + d + "_" + f + ".png");
+        }
+
+        toolIcons = new Region[player.getTools().size()];
+        for (int i = 0; i < toolIcons.length; i++)
+            toolIcons[i] = atlas.get(player.getTools().get(i).getSpritePath());
+
+        snapshot.publish(System.nanoTime());
+        pulse.start();
+    }
+
+    /**
+     * Lists the resource path of every sprite the renderer draws, so the
+     * atlas can be loaded before the renderer is created.
+     *
+     * @param player player whose tool icons are shown in the toolbar
+     * @return sprite paths that must be present in the atlas
+     */
+    public static List<String> spritePaths(Player player) {
+        List<String> paths = new ArrayList<>();
+        paths.add("tiles/grass.png");
+        paths.add("tiles/dirt.png");
+        paths.add("tiles/water.png");
+        for (int i = 0; i < 6; i++) {
+            paths.add("crops/wheat_stage_" + i + ".png");
+            paths.add("crops/tomato_stage_" + i + ".png");
+        }
+        for (int d = 0; d < 4; d++) {
+            for (int f = 0; f < 4; f++)
+                paths.add("player/walk_" + d + "_" + f + ".png");
             for (int f = 0; f < 2; f++)
-                hoeSprites[d][f] = ResourceManager.loadImage("player/hoe_" + d + "_" + f + ".png");
+                paths.add("player/hoe_" + d + "_" + f + ".png");
         }
+        for (Tool tool : player.getTools()) {
+            if (!paths.contains(tool.getSpritePath()))
+                paths.add(tool.getSpritePath());
+        }
+        return paths;
+    }
+
+    /**
+     * Draws a sprite from the atlas scaled into the given rectangle.
+     *
+     * @param g      graphics context to draw on
+     * @param sprite atlas region of the sprite; nothing is drawn if null
+     * @param x      destination x
+     * @param y      destination y
+     * @param w      destination width
+     * @param h      destination height
+     */
+    private void drawSprite(GraphicsContext g, Region sprite, double x, double y, double w, double h) {
+        if (sprite == null)
+            return;
+        g.drawImage(atlas.getImage(), sprite.x, sprite.y, sprite.width, sprite.height, x, y, w, h);
+    }
+
+    /**
+     * Sets the length of a world tick, which frames interpolate over. Until
+     * it is set the player is drawn at the last tick's position.
+     *
+     * @param nanos tick length in nanoseconds
+     */
+    public void setTickNanos(long nanos) {
+        tickNanos = nanos;
+    }
+
+    /**
+     * Hands over the startup timings for the performance overlay. The time
+     * to first frame is taken when the next frame has been drawn. Called on
+     * the JavaFX thread.
+     *
+     * @param startNanos  {@link System#nanoTime()} when the application started
+     * @param assetsNanos wall-clock time of the whole asset load
+     * @param assetTimes  time per asset load step, see {@link AssetLoader#getTimings()}
+     */
+    public void setStartupTimings(long startNanos, long assetsNanos, Map<String, Long> assetTimes) {
+        this.startNanos = startNanos;
+        firstFrameNanos = 0;
+        startupLines = new String[assetTimes.size() + 1];
+        startupLines[0] = String.format("assets       %6.1f ms", assetsNanos / 1e6);
+        int i = 1;
+        for (Map.Entry<String, Long> e : assetTimes.entrySet())
+            startupLines[i++] = String.format("  %-11s%6.1f ms", e.getKey(), e.getValue() / 1e6);
+    }
 
-        // Pickup animation callback
-        player.setPickupCallback(pickup -> spawnPickup(pickup.cropType, pickup.tileX, pickup.tileY, pickup.img));
+    /**
+     * Returns the time from application start until the first frame was
+     * drawn.
+     *
+     * @return time to first frame in nanoseconds, or 0 if not drawn yet
+     */
+    public long getFirstFrameNanos() {
+        return firstFrameNanos;
+    }
 
-        requestRender();
+    /**
+     * Sets the game loop whose wake-up jitter the performance overlay shows.
+     *
+     * @param loop loop updating the world
+     */
+    void setLoop(GameLoop loop) {
+        this.loop = loop;
     }
 
     /**
-     * Requests a render on the JavaFX application thread.
-     * This ensures thread-safety for UI updates.
+     * Stops the render pulse. Called when the application exits.
      */
-    public void requestRender() {
-        Platform.runLater(this::render);
+    public void stop() {
+        pulse.stop();
     }
 
     /**
      * Renders the entire game scene: world, player, items, UI, day/night overlay.
-     * Called internally via {@link #requestRender()}.
+     * Called on the JavaFX thread by the render pulse.
+     * Everything is drawn from the newest {@link RenderSnapshot}.
+     *
+     * @param pulseNow {@link System#nanoTime()} of the JavaFX pulse
      */
-    private void render() {
+    private void render(long pulseNow) {
+        FrameEvent event = new FrameEvent();
+        event.begin();
+
+        long frameStart = System.nanoTime();
         gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
 
-        drawWorld();
+        Frame f = snapshot.acquire();
+        long ticks = tickNanos;
+        interpolation = ticks > 0 ? Math.min(1, Math.max(0, (pulseNow - f.updatedAt) / (double) ticks)) : 1;
+
+        long delay = 0;
+        if (f.sequence != shownSequence) {
+            delay = frameStart - f.publishedAt;
+            profiler.record(Phase.RENDER_DELAY, delay);
+        }
+
+        camera.follow(
+                (f.renderX(interpolation) + 0.5) * tileSize,
+                (f.renderY(interpolation) + 0.5) * tileSize,
+                world.getWidth() * tileSize,
+                world.getHeight() * tileSize);
+
+        // Pickups belong to a frame and start their animation once
+        if (f.sequence != shownSequence) {
+            shownSequence = f.sequence;
+            for (int i = 0; i < f.pickupCount; i += 3) {
+                int itemId = f.pickups[i + 2];
+                Region sprite = cropSprite(itemId, 5);
+                if (sprite != null)
+                    spawnPickup(itemId, f.pickups[i], f.pickups[i + 1], sprite);
+            }
+        }
+
+        int tilesRedrawn = drawWorld(f);
+        long t = profiler.mark(Phase.WORLD, frameStart);
         drawFlyingItems();
-        drawPlayer();
-        drawInventory(world.getPlayer());
-        drawToolBar(world.getPlayer());
-        drawNightOverlay();
-        drawDayCounter();
+        t = profiler.mark(Phase.FLYING_ITEMS, t);
+        drawPlayer(f);
+        t = profiler.mark(Phase.PLAYER, t);
+
+        // HUD and overlays interleave, so each is summed over its parts
+        drawInventory(f);
+        drawToolBar(f);
+        long t1 = System.nanoTime();
+        drawNightOverlay(f);
+        long t2 = System.nanoTime();
+        drawDayCounter(f);
+        long t3 = System.nanoTime();
         if (showControlsOverlay)
             drawControlsOverlay();
+        long t4 = System.nanoTime();
+        profiler.record(Phase.HUD, (t1 - t) + (t3 - t2));
+        profiler.record(Phase.OVERLAY, (t2 - t1) + (t4 - t3));
 
-        menuAnimTime += 0.05;
+        if (showProfiler)
+            drawProfilerOverlay(t4);
 
+        menuAnimTime += 0.05;
+        long frameEnd = System.nanoTime();
+        profiler.record(Phase.FRAME, frameEnd - frameStart);
+        if (firstFrameNanos == 0 && startNanos != 0)
+            firstFrameNanos = frameEnd - startNanos;
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.renderDelay = delay;
+            event.tilesRedrawn = tilesRedrawn;
+            event.commit();
+        }
     }
 
     // ---------------- WORLD ----------------
 
     /**
-     * Draws the entire world tiles and any crops present.
+     * Draws the visible part of the world by blitting the cached ground layer.
+     * If the snapshot's window moved, the layer follows it and is redrawn
+     * completely; otherwise only tiles whose code differs from the one drawn
+     * last are redrawn, and if none differ the layer is reused as is.
+     *
+     * @param f frame to draw
+     * @return number of tiles redrawn into the layer
+     */
+    private int drawWorld(Frame f) {
+        if (f.originX != cacheOriginX || f.originY != cacheOriginY) {
+            cacheOriginX = f.originX;
+            cacheOriginY = f.originY;
+            Arrays.fill(drawnTiles, (short) -1);
+        }
+
+        int redrawn = 0;
+        short[] tiles = f.tiles;
+        for (int i = 0; i < tiles.length; i++) {
+            short code = tiles[i];
+            if (code != drawnTiles[i]) {
+                drawTile(cacheOriginX + i % cacheCols, cacheOriginY + i / cacheCols, code);
+                drawnTiles[i] = code;
+                redrawn++;
+            }
+        }
+
+        if (redrawn > 0)
+            groundCanvas.snapshot(snapshotParams, groundImage);
+
+        double srcX = camera.getX() - cacheOriginX * tileSize;
+        double srcY = camera.getY() - cacheOriginY * tileSize;
+        double w = Math.min(canvas.getWidth(), cacheCols * tileSize - srcX);
+        double h = Math.min(canvas.getHeight(), cacheRows * tileSize - srcY);
+        gc.drawImage(groundImage, srcX, srcY, w, h, 0, 0, w, h);
+        return redrawn;
+    }
+
+    /**
+     * Redraws one tile and its crop into the ground layer.
      * Grass, dirt, and water tiles are drawn according to tile type.
      * Crops are drawn on dirt tiles if present.
+     *
+     * @param x    tile x-coordinate
+     * @param y    tile y-coordinate
+     * @param code tile appearance, see {@link RenderSnapshot}
      */
-    private void drawWorld() {
-        for (int x = 0; x < world.getWidth(); x++) {
-            for (int y = 0; y < world.getHeight(); y++) {
-                AbstractTile t = world.getTile(x, y);
-                Image base = switch (t.getType()) {
-                    case GRASS -> grassImg;
-                    case DIRT -> dirtImg;
-                    case WATER -> waterImg;
-                };
-                drawImage(base, x, y);
-
-                if (t instanceof io.github.game.world.tiles.DirtTile dirt && dirt.hasCrop()) {
-                    Crop c = dirt.getCrop();
-                    int stage = c.getGrowthStage();
-                    Image img = (c instanceof Wheat) ? wheatStages[stage]
-                            : (c instanceof Tomato) ? tomatoStages[stage] : null;
-                    if (img != null)
-                        drawImage(img, x, y);
-                }
-            }
+    private void drawTile(int x, int y, short code) {
+        Region base = switch (RenderSnapshot.typeOf(code)) {
+            case GRASS -> grassImg;
+            case DIRT -> dirtImg;
+            case WATER -> waterImg;
+        };
+        groundGc.clearRect((x - cacheOriginX) * tileSize, (y - cacheOriginY) * tileSize, tileSize, tileSize);
+        drawImage(base, x, y);
+
+        int crop = RenderSnapshot.cropOf(code);
+        if (crop >= 0) {
+            Region img = cropSprite(crop, RenderSnapshot.stageOf(code));
+            if (img != null)
+                drawImage(img, x, y);
         }
     }
 
+    /**
+     * Looks up the sprite of a crop at a growth stage.
+     *
+     * @param itemId the crop's item id, see {@link ItemRegistry}
+     * @param stage  growth stage, 5 being the harvested item
+     * @return atlas region, or null if the item has no sprite
+     */
+    private Region cropSprite(int itemId, int stage) {
+        if (itemId == ItemRegistry.WHEAT)
+            return wheatStages[stage];
+        if (itemId == ItemRegistry.TOMATO)
+            return tomatoStages[stage];
+        return null;
+    }
+
     // ---------------- PLAYER ----------------
 
     /**
      * Draws the player sprite on the canvas according to current position,
      * direction, action (walking or hoeing), and animation frame.
+     *
+     * @param f frame to draw
      */
-    private void drawPlayer() {
-        Player p = world.getPlayer();
-        p.update(); // advance animation
-
-        int dir = p.getDirection().ordinal();
-        int frame = p.getAnimFrame();
+    private void drawPlayer(Frame f) {
+        double alpha = interpolation;
+        boolean hoeing = f.action == HOEING;
 
-        Image sprite = (p.getAction() == PlayerAction.HOEING)
-                ? hoeSprites[dir][frame]
-                : walkSprites[dir][frame];
+        Region sprite = hoeing
+                ? hoeSprites[f.direction][f.animFrame]
+                : walkSprites[f.direction][f.animFrame];
 
-        int size = (p.getAction() == PlayerAction.HOEING)
+        int size = hoeing
                 ? 120
                 : tileSize;
 
-        gc.drawImage(sprite,
-                p.getRenderX() * tileSize - (size - tileSize) / 2,
-                p.getRenderY() * tileSize - (size - tileSize) / 2,
+        drawSprite(gc, sprite,
+                f.renderX(alpha) * tileSize - (size - tileSize) / 2 - camera.getX(),
+                f.renderY(alpha) * tileSize - (size - tileSize) / 2 - camera.getY(),
                 size,
                 size);
     }
@@ -214,7 +528,7 @@ public final class Renderer {
                 it.remove();
                 continue;
             }
-            gc.drawImage(item.image, item.x, item.y, 24, 24);
+            drawSprite(gc, item.sprite, item.x, item.y, 24, 24);
         }
     }
 
@@ -224,21 +538,20 @@ public final class Renderer {
      * Draws the toolbar at the bottom of the screen showing all tools
      * and highlights the currently selected tool.
      *
-     * @param p the player whose tools are displayed
+     * @param f frame holding the selected tool
      */
-    private void drawToolBar(Player p) {
+    private void drawToolBar(Frame f) {
         int slotSize = 35;
         int spacing = 10;
         int startX = ((int) canvas.getWidth() -
-                p.getTools().size() * (slotSize + spacing)) / 2;
+                toolIcons.length * (slotSize + spacing)) / 2;
         int y = (int) canvas.getHeight() - slotSize - 2;
 
-        for (int i = 0; i < p.getTools().size(); i++) {
-            Tool tool = p.getTools().get(i);
+        for (int i = 0; i < toolIcons.length; i++) {
             int x = startX + i * (slotSize + spacing);
-            gc.drawImage(tool.getSprite(), x, y, slotSize, slotSize);
+            drawSprite(gc, toolIcons[i], x, y, slotSize, slotSize);
 
-            if (p.getSelectedToolIndex() == i) {
+            if (f.selectedTool == i) {
                 gc.setStroke(Color.YELLOW);
                 gc.strokeRect(x, y, slotSize, slotSize);
             }
@@ -249,37 +562,41 @@ public final class Renderer {
      * Draws the player's inventory with crops and their quantities.
      * Semi-transparent images indicate zero quantity.
      *
-     * @param p the player whose inventory is displayed
+     * @param f frame holding the inventory counts
      */
-    private void drawInventory(Player p) {
+    private void drawInventory(Frame f) {
         int slotSize = 35;
         int spacing = 20;
         int startX = 3;
         int startY = 200;
 
-        String[] crops = { "wheat", "tomato" };
-
         gc.setFont(FONT_SMALL); // smaller font just for counts
 
-        for (int i = 0; i < crops.length; i++) {
-            String crop = crops[i];
-            int qty = p.getInventory().get(crop);
+        // Rebuild labels only when the inventory changed
+        if (f.itemsVersion != hudVersion || hudLabels[0] == null) {
+            hudVersion = f.itemsVersion;
+            for (int i = 0; i < HUD_ITEMS.length; i++)
+                hudLabels[i] = "x" + f.items[HUD_ITEMS[i]];
+        }
+
+        for (int i = 0; i < HUD_ITEMS.length; i++) {
+            int qty = f.items[HUD_ITEMS[i]];
             int y = startY + i * (slotSize + spacing);
 
-            Image img = crop.equals("wheat") ? wheatStages[5] : tomatoStages[5];
+            Region img = cropSprite(HUD_ITEMS[i], 5);
 
             if (qty == 0) {
                 gc.save();
                 gc.setGlobalAlpha(0.3);
-                gc.drawImage(img, startX, y, slotSize, slotSize);
+                drawSprite(gc, img, startX, y, slotSize, slotSize);
                 gc.restore();
             } else {
-                gc.drawImage(img, startX, y, slotSize, slotSize);
+                drawSprite(gc, img, startX, y, slotSize, slotSize);
             }
 
             gc.setFill(Color.WHITE);
             gc.fillText(
-                    "x" + qty,
+                    hudLabels[i],
                     startX + 6,
                     y + slotSize + 14);
         }
@@ -288,9 +605,11 @@ public final class Renderer {
     /**
      * Draws a night-time overlay to simulate darkness based on the
      * world’s day/night cycle.
+     *
+     * @param f frame holding the time of day
      */
-    private void drawNightOverlay() {
-        double alpha = world.getDayCycle().getNightAlpha();
+    private void drawNightOverlay(Frame f) {
+        double alpha = f.nightAlpha;
         if (alpha > 0) {
             gc.setFill(Color.rgb(0, 0, 50, alpha));
             gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
@@ -298,27 +617,31 @@ public final class Renderer {
     }
 
     /**
-     * Draws a single tile image at the specified tile coordinates.
+     * Draws a single tile sprite into the ground layer at the specified world
+     * tile coordinates.
      *
-     * @param img the image to draw
+     * @param img the sprite to draw
      * @param tx  x-coordinate in tiles
      * @param ty  y-coordinate in tiles
      */
-    private void drawImage(Image img, int tx, int ty) {
-        gc.drawImage(img, tx * tileSize, ty * tileSize, tileSize, tileSize);
+    private void drawImage(Region img, int tx, int ty) {
+        drawSprite(groundGc, img, (tx - cacheOriginX) * tileSize, (ty - cacheOriginY) * tileSize,
+                tileSize, tileSize);
     }
 
     /**
      * Draws the day counter at the top of the screen with the current day
      * and percentage of the day that has passed.
+     *
+     * @param f frame holding the time of day
      */
-    private void drawDayCounter() {
+    private void drawDayCounter(Frame f) {
         int canvasWidth = (int) canvas.getWidth();
 
-        // Fetch day info from DayCycle
-        int dayCount = world.getDayCycle().getDayCount();
-        int dayTick = world.getDayCycle().getCurrentTick();
-        int dayLength = world.getDayCycle().getDayLength();
+        // Day info as of the last tick
+        int dayCount = f.dayCount;
+        int dayTick = f.dayTick;
+        int dayLength = f.dayLength;
 
         // Compute percent of day passed
         double percent;
@@ -407,7 +730,8 @@ public final class Renderer {
                 "WASD / Arrow Keys — Move player",
                 "E or SPACE — Use tool / interact / harvest ",
                 "1 – 4 — Select tool or seed",
-                "ENTER — Toggle controls / pause menu"
+                "ENTER — Toggle controls / pause menu",
+                "F3 — Toggle performance overlay"
         };
 
         double controlsY = height * 0.58;
@@ -422,6 +746,74 @@ public final class Renderer {
         gc.setGlobalAlpha(1.0);
     }
 
+    /**
+     * Toggles the performance overlay showing per-phase timings.
+     */
+    public void toggleProfilerOverlay() {
+        showProfiler = !showProfiler;
+        profilerRefreshedAt = 0;
+    }
+
+    /**
+     * Draws p50, p99 and maximum of every profiled phase in the top-right
+     * corner, followed by the game loop's average and largest wake-up jitter
+     * since it started, the time to first frame and the asset load times.
+     * The text is rebuilt at most twice per second.
+     *
+     * @param now current {@link System#nanoTime()}
+     */
+    private void drawProfilerOverlay(long now) {
+        FrameProfiler.Phase[] phases = FrameProfiler.phases();
+        if (profilerRefreshedAt == 0 || now - profilerRefreshedAt >= PROFILER_REFRESH_NANOS) {
+            profilerRefreshedAt = now;
+            for (int i = 0; i < phases.length; i++) {
+                profiler.percentiles(phases[i], profilerStats);
+                profilerLines[i] = String.format("%-13s%6.2f %6.2f %6.2f", phases[i].getLabel(),
+                        profilerStats[0] / 1e6, profilerStats[1] / 1e6, profilerStats[2] / 1e6);
+            }
+            GameLoop l = loop;
+            jitterLine = l == null ? "" : String.format("jitter avg %.2f ms, max %.2f ms",
+                    l.getJitterNanos() / 1e6, l.getMaxJitterNanos() / 1e6);
+            firstFrameLine = firstFrameNanos == 0 ? "" : String.format("first frame  %6.1f ms", firstFrameNanos / 1e6);
+        }
+
+        double width = 300;
+        double lineHeight = 16;
+        double x = canvas.getWidth() - width - 6;
+        double y = 40;
+        int lines = phases.length + 3 + startupLines.length;
+
+        gc.setFill(Color.rgb(0, 0, 0, 0.6));
+        gc.fillRect(x, y, width, lines * lineHeight + 8);
+        gc.setFont(FONT_SMALL);
+        gc.setFill(Color.WHITE);
+        gc.fillText("ms           p50    p99    max", x + 6, y + lineHeight);
+        for (int i = 0; i < phases.length; i++)
+            gc.fillText(profilerLines[i], x + 6, y + (i + 2) * lineHeight);
+        gc.fillText(jitterLine, x + 6, y + (phases.length + 2) * lineHeight);
+        gc.fillText(firstFrameLine, x + 6, y + (phases.length + 3) * lineHeight);
+        for (int i = 0; i < startupLines.length; i++)
+            gc.fillText(startupLines[i], x + 6, y + (phases.length + 4 + i) * lineHeight);
+    }
+
+    /**
+     * Returns the snapshot the game loop publishes the visible state to.
+     *
+     * @return render snapshot
+     */
+    public RenderSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the profiler that the renderer and game loop record into.
+     *
+     * @return per-phase timings
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
     /**
      * Returns whether the controls overlay (pause menu) is currently shown.
      *
@@ -460,26 +852,31 @@ public final class Renderer {
 
     /**
      * Spawns a flying item animation from a tile to the player's inventory.
+     * Items without an inventory slot are not animated.
      *
-     * @param cropType the type of crop ("wheat" or "tomato")
-     * @param tileX    the x-coordinate of the tile
-     * @param tileY    the y-coordinate of the tile
-     * @param img      the image of the item to animate
+     * @param itemId the harvested item, see {@link ItemRegistry}
+     * @param tileX  the x-coordinate of the tile
+     * @param tileY  the y-coordinate of the tile
+     * @param sprite atlas region of the item to animate
      */
-    public void spawnPickup(String cropType, int tileX, int tileY, Image img) {
+    public void spawnPickup(int itemId, int tileX, int tileY, Region sprite) {
         int startX = 3;
         int startY = 200;
         int spacing = 20;
         int slotSize = 35;
 
-        int index = cropType.equals("tomato") ? 1 : 0;
+        int index = 0;
+        while (index < HUD_ITEMS.length && HUD_ITEMS[index] != itemId)
+            index++;
+        if (index == HUD_ITEMS.length)
+            return;
 
         flyingItems.add(new FlyingItem(
-                tileX * tileSize,
-                tileY * tileSize,
+                tileX * tileSize - camera.getX(),
+                tileY * tileSize - camera.getY(),
                 startX,
                 startY + index * (slotSize + spacing),
-                img));
+                sprite));
     }
 
     /**
@@ -490,23 +887,23 @@ public final class Renderer {
         double x, y;
         final double tx, ty;
         double progress = 0;
-        final Image image;
+        final Region sprite;
 
         /**
          * Creates a FlyingItem instance.
          *
-         * @param x   starting x-coordinate
-         * @param y   starting y-coordinate
-         * @param tx  target x-coordinate
-         * @param ty  target y-coordinate
-         * @param img image to render
+         * @param x      starting x-coordinate
+         * @param y      starting y-coordinate
+         * @param tx     target x-coordinate
+         * @param ty     target y-coordinate
+         * @param sprite atlas region to render
          */
-        FlyingItem(double x, double y, double tx, double ty, Image img) {
+        FlyingItem(double x, double y, double tx, double ty, Region sprite) {
             this.x = x;
             this.y = y;
             this.tx = tx;
             this.ty = ty;
-            this.image = img;
+            this.sprite = sprite;
         }
 
         /**
@@ -532,13 +929,13 @@ public final class Renderer {
         private MediaPlayer bgMusic;
 
         /**
-         * Loads and starts playing the background music in a loop.
+         * Starts playing the preloaded background music in a loop.
          */
         public AudioManager() {
+            if (assets.music == null)
+                return;
             try {
-                String path = Paths.get("src/main/resources/audio/background.mp3").toUri().toString();
-                Media media = new Media(path);
-                bgMusic = new MediaPlayer(media);
+                bgMusic = new MediaPlayer(assets.music);
                 bgMusic.setCycleCount(MediaPlayer.INDEFINITE); // loop
                 bgMusic.setVolume(0.3); // optional: adjust volume
                 bgMusic.play();
@@ -558,21 +955,13 @@ public final class Renderer {
 
     // ---------------- FONT ----------------
 
-    /** Custom game font */
-    Font pixelFont = Font.loadFont(
-            getClass().getResourceAsStream("/fonts/PressStart2P-Regular.ttf"),
-            20);
+    /** Custom game font, loaded once by {@link AssetLoader} in every size used */
+    final Font pixelFont;
 
-    private final Font FONT_SMALL = Font.loadFont(
-            getClass().getResourceAsStream("/fonts/PressStart2P-Regular.ttf"),
-            12);
+    private final Font FONT_SMALL;
 
-    private final Font FONT_MEDIUM = Font.loadFont(
-            getClass().getResourceAsStream("/fonts/PressStart2P-Regular.ttf"),
-            18);
+    private final Font FONT_MEDIUM;
 
-    private final Font FONT_LARGE = Font.loadFont(
-            getClass().getResourceAsStream("/fonts/PressStart2P-Regular.ttf"),
-            32);
+    private final Font FONT_LARGE;
 
 }
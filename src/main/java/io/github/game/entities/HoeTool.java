@@ -3,8 +3,6 @@
 // ---------------------------
 package io.github.game.entities;
 
-import javafx.scene.image.Image;
-
 /**
  * Tool representing a hoe used to till soil.
  */
@@ -13,9 +11,9 @@ public class HoeTool extends Tool {
     /**
      * Creates a new HoeTool.
      *
-     * @param icon sprite image for the hoe
+     * @param iconPath resource path of the hoe sprite
      */
-    public HoeTool(Image icon) {
-        super("Hoe", icon, ToolType.HOE);
+    public HoeTool(String iconPath) {
+        super("Hoe", iconPath, ToolType.HOE);
     }
 }
@@ -9,7 +9,6 @@ import java.util.function.Consumer;
 
 import io.github.game.util.Inventory;
 import io.github.game.world.World;
-import javafx.scene.image.Image;
 
 /**
  * Player class representing the player entity in the game.
@@ -22,6 +21,7 @@ public class Player {
     // -------------------------
     private int x, y;
     private double renderX, renderY;
+    private double prevRenderX, prevRenderY;
     private double targetX, targetY;
 
     private static final double MOVE_SPEED = 0.15;
@@ -70,15 +70,35 @@ public class Player {
 
         renderX = x;
         renderY = y;
+        prevRenderX = x;
+        prevRenderY = y;
         targetX = x;
         targetY = y;
     }
 
+    /**
+     * Places the player on a tile immediately, without walking there.
+     * Used when restoring a saved game.
+     *
+     * @param tileX tile x-coordinate
+     * @param tileY tile y-coordinate
+     */
+    public void setPosition(int tileX, int tileY) {
+        x = tileX;
+        y = tileY;
+        renderX = prevRenderX = targetX = x;
+        renderY = prevRenderY = targetY = y;
+    }
+
     /**
      * Updates the player's state each tick.
      * Handles smooth movement, animations, and interaction timers.
      */
     public void update() {
+        // Remember the previous position for render interpolation
+        prevRenderX = renderX;
+        prevRenderY = renderY;
+
         // Smooth movement
         renderX += (targetX - renderX) * MOVE_SPEED;
         renderY += (targetY - renderY) * MOVE_SPEED;
@@ -220,6 +240,26 @@ public class Player {
         return renderY;
     }
 
+    /**
+     * Returns the render x-position blended between the last two updates.
+     *
+     * @param alpha fraction of a tick elapsed since the last update (0-1)
+     * @return interpolated x-position in tiles
+     */
+    public double getRenderX(double alpha) {
+        return prevRenderX + (renderX - prevRenderX) * alpha;
+    }
+
+    /**
+     * Returns the render y-position blended between the last two updates.
+     *
+     * @param alpha fraction of a tick elapsed since the last update (0-1)
+     * @return interpolated y-position in tiles
+     */
+    public double getRenderY(double alpha) {
+        return prevRenderY + (renderY - prevRenderY) * alpha;
+    }
+
     public Direction getDirection() {
         return direction;
     }
@@ -248,6 +288,16 @@ public class Player {
         return selectedToolIndex;
     }
 
+    /**
+     * Gives the player the tools every game starts with: the hoe and the
+     * wheat and tomato seeds, in toolbar order.
+     */
+    public void equipStarterTools() {
+        tools.add(new HoeTool("tools/hoe.png"));
+        tools.add(new SeedTool(SeedType.WHEAT, "crops/wheat_stage_0.png"));
+        tools.add(new SeedTool(SeedType.TOMATO, "crops/tomato_stage_0.png"));
+    }
+
     /**
      * Selects a tool from the player's tool list.
      * Stops hoeing animation if the tool changes.
@@ -273,28 +323,33 @@ public class Player {
     // Pickup animation
     // -------------------------
 
+    /**
+     * Sets the listener for pickup animations.
+     * Left unset when running without a renderer.
+     *
+     * @param cb callback receiving pickup requests, or null
+     */
     public void setPickupCallback(Consumer<PickupRequest> cb) {
         pickupCallback = cb;
     }
 
-    public void requestPickupAnimation(int tileX, int tileY, String cropType, Image img) {
+    public void requestPickupAnimation(int tileX, int tileY, int itemId) {
         if (pickupCallback != null)
-            pickupCallback.accept(new PickupRequest(tileX, tileY, cropType, img));
+            pickupCallback.accept(new PickupRequest(tileX, tileY, itemId));
     }
 
     /**
      * Represents a pickup animation request for crops.
+     * The renderer picks the image from the item id.
      */
     public static class PickupRequest {
         public final int tileX, tileY;
-        public final String cropType;
-        public final Image img;
+        public final int itemId;
 
-        public PickupRequest(int tileX, int tileY, String cropType, Image img) {
+        public PickupRequest(int tileX, int tileY, int itemId) {
             this.tileX = tileX;
             this.tileY = tileY;
-            this.cropType = cropType;
-            this.img = img;
+            this.itemId = itemId;
         }
     }
 }
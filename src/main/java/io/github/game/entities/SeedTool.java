@@ -6,7 +6,6 @@ package io.github.game.entities;
 import io.github.game.crops.Crop;
 import io.github.game.crops.Tomato;
 import io.github.game.crops.Wheat;
-import javafx.scene.image.Image;
 
 /**
  * Tool used for planting seeds into tilled soil.
@@ -19,11 +18,11 @@ public class SeedTool extends Tool {
     /**
      * Constructs a SeedTool for a specific crop type.
      *
-     * @param seedType type of seed
-     * @param sprite   icon image for the seed
+     * @param seedType   type of seed
+     * @param spritePath resource path of the seed icon
      */
-    public SeedTool(SeedType seedType, Image sprite) {
-        super(seedType.name() + " Seeds", sprite, ToolType.SEED);
+    public SeedTool(SeedType seedType, String spritePath) {
+        super(seedType.name() + " Seeds", spritePath, ToolType.SEED);
         this.seedType = seedType;
     }
 
@@ -3,27 +3,27 @@
 // ---------------------------
 package io.github.game.entities;
 
-import javafx.scene.image.Image;
-
 /**
  * Abstract base class for all tools usable by the player.
- * Each tool has a name, icon sprite, and tool type.
+ * Each tool has a name, icon sprite path, and tool type.
+ * The sprite is referenced by resource path so tools can exist without a
+ * graphics toolkit; the renderer loads the image.
  */
 public abstract class Tool {
     private final String name;
-    private final Image sprite;
+    private final String spritePath;
     private final ToolType type;
 
     /**
      * Constructs a new Tool.
      *
-     * @param name   display name of the tool
-     * @param sprite icon image used in UI
-     * @param type   tool category
+     * @param name       display name of the tool
+     * @param spritePath resource path of the icon image used in UI
+     * @param type       tool category
      */
-    protected Tool(String name, Image sprite, ToolType type) {
+    protected Tool(String name, String spritePath, ToolType type) {
         this.name = name;
-        this.sprite = sprite;
+        this.spritePath = spritePath;
         this.type = type;
     }
 
@@ -43,9 +43,9 @@ public abstract class Tool {
     }
 
     /**
-     * @return the sprite image used for rendering
+     * @return the resource path of the sprite image used for rendering
      */
-    public Image getSprite() {
-        return sprite;
+    public String getSpritePath() {
+        return spritePath;
     }
 }
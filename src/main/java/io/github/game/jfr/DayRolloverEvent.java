@@ -0,0 +1,40 @@
+// ---------------------------
+// File: src/main/java/io/github/game/jfr/DayRolloverEvent.java
+// ---------------------------
+package io.github.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Crop growth for one or more new days, timed from the start of the
+ * crop store update to the last listener notification.
+ */
+@Name("io.github.game.DayRollover")
+@Label("Day Rollover")
+@Category({ "Farm Harvest", "World" })
+@Description("Crop growth at the start of a new day")
+@Enabled(false)
+@StackTrace(false)
+public class DayRolloverEvent extends Event {
+
+    @Label("Day")
+    public int day;
+
+    @Label("Days Advanced")
+    @Description("More than one when days were skipped")
+    public int days;
+
+    @Label("Crops")
+    @Description("Crops planted in loaded chunks")
+    public int crops;
+
+    @Label("Stage Changes")
+    @Description("Crops that moved to a later growth stage")
+    public int stageChanges;
+}
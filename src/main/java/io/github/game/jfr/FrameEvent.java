@@ -0,0 +1,34 @@
+// ---------------------------
+// File: src/main/java/io/github/game/jfr/FrameEvent.java
+// ---------------------------
+package io.github.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One call of the renderer on the JavaFX thread.
+ */
+@Name("io.github.game.Frame")
+@Label("Frame")
+@Category({ "Farm Harvest", "Rendering" })
+@Description("Rendering of one frame")
+@Enabled(false)
+@StackTrace(false)
+public class FrameEvent extends Event {
+
+    @Label("Render Delay")
+    @Description("Time from publishing the snapshot to the first frame drawn from it, 0 if it was drawn before")
+    @Timespan(Timespan.NANOSECONDS)
+    public long renderDelay;
+
+    @Label("Tiles Redrawn")
+    @Description("Ground layer tiles redrawn for this frame")
+    public int tilesRedrawn;
+}
@@ -0,0 +1,36 @@
+// ---------------------------
+// File: src/main/java/io/github/game/jfr/HarvestEvent.java
+// ---------------------------
+package io.github.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A crop harvested by the player.
+ */
+@Name("io.github.game.Harvest")
+@Label("Harvest")
+@Category({ "Farm Harvest", "World" })
+@Description("A fully grown crop was harvested into the inventory")
+@Enabled(false)
+@StackTrace(false)
+public class HarvestEvent extends Event {
+
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Item")
+    public String item;
+
+    @Label("Quantity")
+    public int quantity;
+}
@@ -0,0 +1,39 @@
+// ---------------------------
+// File: src/main/java/io/github/game/jfr/TickOverrunEvent.java
+// ---------------------------
+package io.github.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A pass of the game loop that fell behind: its updates took longer than
+ * one tick, or it had to drop backlog it could not catch up on.
+ */
+@Name("io.github.game.TickOverrun")
+@Label("Tick Overrun")
+@Category({ "Farm Harvest", "Game Loop" })
+@Description("World updates that took longer than their tick budget")
+@Enabled(false)
+@StackTrace(false)
+public class TickOverrunEvent extends Event {
+
+    @Label("Updates")
+    @Description("World updates run back to back in this pass")
+    public int updates;
+
+    @Label("Tick Budget")
+    @Timespan(Timespan.NANOSECONDS)
+    public long budget;
+
+    @Label("Dropped Backlog")
+    @Description("Time the loop gave up on instead of catching up")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dropped;
+}
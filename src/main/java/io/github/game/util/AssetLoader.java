@@ -0,0 +1,185 @@
+// ---------------------------
+// File: src/main/java/io/github/game/util/AssetLoader.java
+// ---------------------------
+package io.github.game.util;
+
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javafx.scene.media.Media;
+import javafx.scene.text.Font;
+
+/**
+ * Loads every startup asset in parallel on a small worker pool.
+ * <p>
+ * The sprite atlas, the pixel font and the background music are decoded
+ * concurrently while the caller shows a loading screen. Progress can be
+ * polled from any thread, and the time spent on each asset is recorded so
+ * startup regressions are visible.
+ */
+public class AssetLoader {
+
+    /** Resource path of the game font. */
+    public static final String FONT_PATH = "fonts/PressStart2P-Regular.ttf";
+
+    /** File location of the background music. */
+    public static final String MUSIC_PATH = "src/main/resources/audio/background.mp3";
+
+    /** Font sizes used by the renderer. */
+    private static final double FONT_SIZE_DEFAULT = 20;
+    private static final double FONT_SIZE_SMALL = 12;
+    private static final double FONT_SIZE_MEDIUM = 18;
+    private static final double FONT_SIZE_LARGE = 32;
+
+    /**
+     * Everything the renderer and audio need, fully decoded.
+     */
+    public static final class Assets {
+        public final TextureAtlas atlas;
+        public final Font pixelFont;
+        public final Font fontSmall;
+        public final Font fontMedium;
+        public final Font fontLarge;
+        /** Background music, or null if it could not be loaded. */
+        public final Media music;
+
+        Assets(TextureAtlas atlas, Font[] fonts, Media music) {
+            this.atlas = atlas;
+            this.pixelFont = fonts[0];
+            this.fontSmall = fonts[1];
+            this.fontMedium = fonts[2];
+            this.fontLarge = fonts[3];
+            this.music = music;
+        }
+    }
+
+    private static final int TASKS = 4;
+
+    private final Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final AtomicInteger completed = new AtomicInteger();
+    private volatile long totalNanos;
+
+    /**
+     * Starts loading all assets in the background.
+     *
+     * @param spritePaths resource paths of every sprite that must be in the atlas
+     * @return future completing with the loaded assets
+     */
+    public CompletableFuture<Assets> loadAsync(List<String> spritePaths) {
+        long start = System.nanoTime();
+        int threads = Math.max(1, Math.min(TASKS, Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "asset-loader");
+            t.setDaemon(true);
+            return t;
+        });
+
+        // The manifest decodes run on the pool themselves; the atlas is built
+        // from the cached images once they are done, so no task blocks on another.
+        long imagesStart = System.nanoTime();
+        CompletableFuture<Void> images = ResourceManager.preloadManifest(ResourceManager.PRELOAD_MANIFEST, pool)
+                .whenComplete((v, error) -> record("images", imagesStart));
+        CompletableFuture<TextureAtlas> atlas = images.thenCompose(
+                v -> timed("atlas", pool, () -> TextureAtlas.load(spritePaths)));
+        CompletableFuture<Font[]> fonts = timed("font", pool, AssetLoader::loadFonts);
+        CompletableFuture<Media> music = timed("music", pool, AssetLoader::loadMusic);
+
+        return CompletableFuture.allOf(atlas, fonts, music)
+                .thenApply(v -> new Assets(atlas.join(), fonts.join(), music.join()))
+                .whenComplete((assets, error) -> {
+                    totalNanos = System.nanoTime() - start;
+                    pool.shutdown();
+                });
+    }
+
+    /**
+     * Runs one load step on the pool and records its duration.
+     */
+    private <T> CompletableFuture<T> timed(String name, ExecutorService pool, Supplier<T> step) {
+        return CompletableFuture.supplyAsync(() -> {
+            long t0 = System.nanoTime();
+            try {
+                return step.get();
+            } finally {
+                record(name, t0);
+            }
+        }, pool);
+    }
+
+    private void record(String name, long startNanos) {
+        timings.put(name, System.nanoTime() - startNanos);
+        completed.incrementAndGet();
+    }
+
+    /**
+     * Parses the font file once and derives the other sizes from its family,
+     * falling back to the system monospaced font if it is missing.
+     */
+    private static Font[] loadFonts() {
+        Font base = null;
+        try (InputStream is = AssetLoader.class.getClassLoader().getResourceAsStream(FONT_PATH)) {
+            if (is != null)
+                base = Font.loadFont(is, FONT_SIZE_DEFAULT);
+        } catch (Exception e) {
+            System.err.println("Failed to load font: " + FONT_PATH + " -> " + e.getMessage());
+        }
+        String family = base != null ? base.getFamily() : "Monospaced";
+        if (base == null) {
+            System.err.println("Missing resource: " + FONT_PATH);
+            base = Font.font(family, FONT_SIZE_DEFAULT);
+        }
+        return new Font[] {
+                base,
+                Font.font(family, FONT_SIZE_SMALL),
+                Font.font(family, FONT_SIZE_MEDIUM),
+                Font.font(family, FONT_SIZE_LARGE)
+        };
+    }
+
+    private static Media loadMusic() {
+        try {
+            return new Media(Paths.get(MUSIC_PATH).toUri().toString());
+        } catch (Exception e) {
+            System.err.println("Failed to load background music: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the fraction of load steps that have finished.
+     *
+     * @return progress between 0 and 1
+     */
+    public double getProgress() {
+        return completed.get() / (double) TASKS;
+    }
+
+    /**
+     * Returns the time spent on each load step, in completion order.
+     *
+     * @return step name to duration in nanoseconds
+     */
+    public Map<String, Long> getTimings() {
+        synchronized (timings) {
+            return new LinkedHashMap<>(timings);
+        }
+    }
+
+    /**
+     * Returns the wall-clock time of the whole load, or 0 while it runs.
+     *
+     * @return total load time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+}
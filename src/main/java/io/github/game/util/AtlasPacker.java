@@ -0,0 +1,172 @@
+// ---------------------------
+// File: src/main/java/io/github/game/util/AtlasPacker.java
+// ---------------------------
+package io.github.game.util;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Packs the individual sprite images into a single texture atlas.
+ * <p>
+ * The layout is a simple shelf packer: sprites are sorted by height and
+ * placed left to right in rows. Each sprite gets a one pixel border that
+ * repeats its edge pixels, so filtering while scaling never samples a
+ * neighbouring sprite.
+ * <p>
+ * Run at build time to regenerate the atlas shipped in the resources:
+ * {@code java -cp target/classes io.github.game.util.AtlasPacker src/main/resources}.
+ * The layout code is shared with {@link TextureAtlas}, which packs in memory
+ * on first run if the prebuilt atlas is missing.
+ */
+public final class AtlasPacker {
+
+    /** Resource path of the packed atlas image. */
+    public static final String ATLAS_IMAGE = "atlas/sprites.png";
+
+    /** Resource path of the atlas index ({@code path x y width height} per line). */
+    public static final String ATLAS_INDEX = "atlas/sprites.atlas";
+
+    /** Border around each sprite, filled with repeated edge pixels. */
+    public static final int PADDING = 1;
+
+    /** Width of the atlas in pixels; rows wrap at this width. */
+    public static final int ATLAS_WIDTH = 256;
+
+    /** Resource folders whose images are packed. */
+    private static final String[] SPRITE_DIRS = { "crops", "player", "tiles", "tools" };
+
+    private AtlasPacker() {
+    }
+
+    /**
+     * Placement of every sprite in the atlas and the atlas size.
+     */
+    public static final class Layout {
+        public final int[] x, y;
+        public final int width, height;
+
+        Layout(int[] x, int[] y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /**
+     * Computes positions for sprites of the given sizes.
+     * Positions point at the sprite itself, inside its padding.
+     *
+     * @param widths  sprite widths
+     * @param heights sprite heights
+     * @return placement of each sprite, in input order
+     */
+    public static Layout layout(int[] widths, int[] heights) {
+        int n = widths.length;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++)
+            order[i] = i;
+        // Tallest first keeps rows tight; the sort is stable for equal heights
+        Arrays.sort(order, (a, b) -> Integer.compare(heights[b], heights[a]));
+
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        int cursorX = 0, cursorY = 0, rowHeight = 0;
+
+        for (int i : order) {
+            int w = widths[i] + 2 * PADDING;
+            int h = heights[i] + 2 * PADDING;
+            if (cursorX + w > ATLAS_WIDTH && cursorX > 0) {
+                cursorX = 0;
+                cursorY += rowHeight;
+                rowHeight = 0;
+            }
+            xs[i] = cursorX + PADDING;
+            ys[i] = cursorY + PADDING;
+            cursorX += w;
+            rowHeight = Math.max(rowHeight, h);
+        }
+
+        return new Layout(xs, ys, ATLAS_WIDTH, cursorY + rowHeight);
+    }
+
+    /**
+     * Returns the source pixel for an atlas position inside a sprite's padded
+     * area, clamping positions in the border to the nearest edge pixel.
+     *
+     * @param offset position relative to the sprite origin, may be -PADDING
+     * @param size   sprite size along that axis
+     * @return coordinate inside the sprite
+     */
+    public static int clampToSprite(int offset, int size) {
+        return Math.max(0, Math.min(size - 1, offset));
+    }
+
+    /**
+     * Packs all sprites under the given resources directory and writes the
+     * atlas image and index next to them.
+     *
+     * @param args {@code [resourcesDir]}, defaults to {@code src/main/resources}
+     * @throws IOException if reading a sprite or writing the atlas fails
+     */
+    public static void main(String[] args) throws IOException {
+        Path root = Paths.get(args.length > 0 ? args[0] : "src/main/resources");
+
+        List<String> paths = new ArrayList<>();
+        for (String dir : SPRITE_DIRS) {
+            try (Stream<Path> files = Files.walk(root.resolve(dir))) {
+                files.filter(f -> f.toString().endsWith(".png"))
+                        .map(f -> root.relativize(f).toString().replace('\\', '/'))
+                        .sorted()
+                        .forEach(paths::add);
+            }
+        }
+
+        BufferedImage[] sprites = new BufferedImage[paths.size()];
+        int[] widths = new int[sprites.length];
+        int[] heights = new int[sprites.length];
+        for (int i = 0; i < sprites.length; i++) {
+            sprites[i] = ImageIO.read(root.resolve(paths.get(i)).toFile());
+            widths[i] = sprites[i].getWidth();
+            heights[i] = sprites[i].getHeight();
+        }
+
+        Layout layout = layout(widths, heights);
+        BufferedImage atlas = new BufferedImage(layout.width, layout.height, BufferedImage.TYPE_INT_ARGB);
+
+        for (int i = 0; i < sprites.length; i++) {
+            for (int dy = -PADDING; dy < heights[i] + PADDING; dy++) {
+                for (int dx = -PADDING; dx < widths[i] + PADDING; dx++) {
+                    int argb = sprites[i].getRGB(clampToSprite(dx, widths[i]), clampToSprite(dy, heights[i]));
+                    atlas.setRGB(layout.x[i] + dx, layout.y[i] + dy, argb);
+                }
+            }
+        }
+
+        Path image = root.resolve(ATLAS_IMAGE);
+        Files.createDirectories(image.getParent());
+        ImageIO.write(atlas, "png", image.toFile());
+
+        try (Writer out = Files.newBufferedWriter(root.resolve(ATLAS_INDEX), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < sprites.length; i++) {
+                out.write(paths.get(i) + " " + layout.x[i] + " " + layout.y[i] + " "
+                        + widths[i] + " " + heights[i] + "\n");
+            }
+        }
+
+        System.out.printf("Packed %d sprites into %dx%d %s%n",
+                sprites.length, layout.width, layout.height, image);
+    }
+}
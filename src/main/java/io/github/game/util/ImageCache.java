@@ -0,0 +1,212 @@
+// ---------------------------
+// File: src/main/java/io/github/game/util/ImageCache.java
+// ---------------------------
+package io.github.game.util;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javafx.scene.image.Image;
+
+/**
+ * Thread-safe memoizing cache of decoded images, keyed by resource path.
+ * <p>
+ * Each path is decoded at most once while it is cached: concurrent requests
+ * for the same path wait on the same decode instead of starting their own.
+ * Paths can be preloaded on a background executor so later lookups never
+ * decode on the calling thread.
+ * <p>
+ * The cache is unbounded by default. With a byte budget set, least recently
+ * used images are evicted once the decoded size of all cached images
+ * exceeds the budget. Sizes are estimated as four bytes per pixel.
+ */
+public class ImageCache {
+
+    /**
+     * One cached path. The future completes when the decode finishes.
+     */
+    private static final class Entry {
+        final CompletableFuture<Image> image = new CompletableFuture<>();
+        volatile long lastUse;
+        volatile long bytes;
+    }
+
+    private final Function<String, Image> decoder;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** Byte budget; 0 means unbounded. Eviction and accounting hold the cache lock. */
+    private volatile long maxBytes;
+
+    /**
+     * Creates an unbounded cache.
+     *
+     * @param decoder decodes an image from a resource path, returning null on failure
+     */
+    public ImageCache(Function<String, Image> decoder) {
+        this.decoder = decoder;
+    }
+
+    /**
+     * Returns the image for a path, decoding it on this thread if it is
+     * neither cached nor being preloaded.
+     *
+     * @param path resource path
+     * @return decoded image, or null if decoding failed
+     */
+    public Image get(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = entries.putIfAbsent(path, created);
+            if (entry == null) {
+                misses.incrementAndGet();
+                entry = created;
+                entry.lastUse = clock.incrementAndGet();
+                decode(path, entry);
+                return entry.image.join();
+            }
+        }
+        hits.incrementAndGet();
+        entry.lastUse = clock.incrementAndGet();
+        return entry.image.join();
+    }
+
+    /**
+     * Starts decoding the given paths on an executor. Paths that are already
+     * cached or loading are skipped.
+     *
+     * @param paths    resource paths to load
+     * @param executor executor running the decodes
+     * @return future completing once every path has been decoded
+     */
+    public CompletableFuture<Void> preload(Collection<String> paths, Executor executor) {
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[paths.size()];
+        int i = 0;
+        for (String path : paths) {
+            Entry created = new Entry();
+            Entry existing = entries.putIfAbsent(path, created);
+            if (existing != null) {
+                loads[i++] = existing.image;
+                continue;
+            }
+            created.lastUse = clock.incrementAndGet();
+            executor.execute(() -> decode(path, created));
+            loads[i++] = created.image;
+        }
+        return CompletableFuture.allOf(loads);
+    }
+
+    /**
+     * Decodes a path into its entry. Failed decodes are not cached, so the
+     * next lookup tries again.
+     */
+    private void decode(String path, Entry entry) {
+        Image image = null;
+        try {
+            image = decoder.apply(path);
+        } finally {
+            if (image == null)
+                entries.remove(path, entry);
+            else
+                admit(path, entry, (long) image.getWidth() * (long) image.getHeight() * 4);
+            entry.image.complete(image);
+        }
+    }
+
+    /**
+     * Counts a decoded image against the budget, unless it was removed while
+     * decoding, and evicts older images if needed.
+     */
+    private synchronized void admit(String path, Entry entry, long bytes) {
+        if (entries.get(path) != entry)
+            return;
+        entry.bytes = bytes;
+        cachedBytes.addAndGet(bytes);
+        evictIfNeeded(entry);
+    }
+
+    /**
+     * Removes an entry and gives back its bytes, if it is still mapped.
+     */
+    private synchronized void evict(String path, Entry entry) {
+        if (entries.remove(path, entry))
+            cachedBytes.addAndGet(-entry.bytes);
+    }
+
+    /**
+     * Drops least recently used images until the cache fits its budget.
+     * The entry that was just loaded is never evicted.
+     */
+    private synchronized void evictIfNeeded(Entry keep) {
+        long budget = maxBytes;
+        if (budget <= 0)
+            return;
+
+        while (cachedBytes.get() > budget) {
+            String oldestPath = null;
+            Entry oldest = null;
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry candidate = e.getValue();
+                if (candidate == keep || candidate.bytes == 0)
+                    continue;
+                if (oldest == null || candidate.lastUse < oldest.lastUse) {
+                    oldest = candidate;
+                    oldestPath = e.getKey();
+                }
+            }
+            if (oldest == null)
+                return;
+            evict(oldestPath, oldest);
+        }
+    }
+
+    /**
+     * Sets the decoded-size budget and evicts down to it immediately.
+     *
+     * @param maxBytes maximum estimated bytes of cached images, or 0 for no limit
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+        evictIfNeeded(null);
+    }
+
+    /**
+     * Removes every cached image. Decodes in progress still complete for
+     * their waiting callers but are not kept.
+     */
+    public synchronized void clear() {
+        for (Map.Entry<String, Entry> e : entries.entrySet())
+            evict(e.getKey(), e.getValue());
+    }
+
+    // Getters
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getCachedBytes() {
+        return cachedBytes.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -6,26 +6,157 @@ package io.github.game.util;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents the player's inventory.
  * Stores item quantities and provides thread-safe access methods.
+ * <p>
+ * Quantities live in an atomic int array indexed by {@link ItemRegistry}
+ * id, so adding, removing and reading never allocate. The string methods
+ * are adapters that look up the id first.
+ * <p>
+ * Changes are published through a sequence lock: writers take a private
+ * lock among themselves and bump a version counter to odd before and to
+ * even after each change. Readers never lock; {@link #snapshot(int[])}
+ * copies the counts and retries if a write overlapped, so it always sees a
+ * consistent state without holding up the writer. The version also tells
+ * readers whether anything changed since their last look.
  */
 public class Inventory {
 
     // -------------------------
     // Stored items
     // -------------------------
-    private final Map<String, Integer> items = new HashMap<>();
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(ItemRegistry.CAPACITY);
+
+    /** Sequence counter: odd while a write is in progress. */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** Serializes writers only; readers never take it. */
+    private final Object writeLock = new Object();
+
+    /** Notified after every change, or null. */
+    private volatile Listener listener;
+
+    /**
+     * Receives inventory changes, e.g. to journal them.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called after a quantity changed, on the thread that changed it and
+         * while other writers are held off, so calls arrive in change order.
+         *
+         * @param itemId   item id from {@link ItemRegistry}
+         * @param quantity new quantity of the item
+         */
+        void onChanged(int itemId, int quantity);
+    }
 
     /**
      * Adds a quantity of an item to the inventory.
      *
+     * @param itemId item id from {@link ItemRegistry}
+     * @param count  amount to add
+     */
+    public void add(int itemId, int count) {
+        synchronized (writeLock) {
+            sequence.incrementAndGet();
+            int quantity = counts.addAndGet(itemId, count);
+            sequence.incrementAndGet();
+            notifyChanged(itemId, quantity);
+        }
+    }
+
+    /**
+     * Removes a quantity of an item from the inventory.
+     *
+     * @param itemId item id from {@link ItemRegistry}
+     * @param count  amount to remove
+     * @return true if removal succeeded, false if insufficient quantity
+     */
+    public boolean remove(int itemId, int count) {
+        synchronized (writeLock) {
+            int curr = counts.get(itemId);
+            if (curr < count)
+                return false;
+            sequence.incrementAndGet();
+            counts.set(itemId, curr - count);
+            sequence.incrementAndGet();
+            notifyChanged(itemId, curr - count);
+            return true;
+        }
+    }
+
+    /**
+     * Returns the quantity of a given item.
+     *
+     * @param itemId item id from {@link ItemRegistry}
+     * @return quantity owned
+     */
+    public int get(int itemId) {
+        return counts.get(itemId);
+    }
+
+    /**
+     * Sets the listener notified after every change.
+     *
+     * @param listener listener, or null to remove it
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    private void notifyChanged(int itemId, int quantity) {
+        Listener l = listener;
+        if (l != null)
+            l.onChanged(itemId, quantity);
+    }
+
+    /**
+     * Copies the quantities of items {@code 0..into.length-1} into a caller
+     * buffer as one consistent snapshot. Never blocks and never allocates;
+     * retries while a write is in progress.
+     *
+     * @param into buffer indexed by item id
+     * @return version of the state that was copied
+     */
+    public long snapshot(int[] into) {
+        int n = Math.min(into.length, ItemRegistry.CAPACITY);
+        while (true) {
+            long before = sequence.get();
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            for (int id = 0; id < n; id++)
+                into[id] = counts.get(id);
+            if (sequence.get() == before)
+                return before;
+        }
+    }
+
+    /**
+     * Returns the current version. It changes on every successful add or
+     * remove, so an unchanged version means unchanged contents.
+     *
+     * @return inventory version
+     */
+    public long getVersion() {
+        return sequence.get() & ~1L;
+    }
+
+    /**
+     * Adds a quantity of an item to the inventory, registering new names.
+     *
      * @param item  item identifier
      * @param count amount to add
      */
-    public synchronized void add(String item, int count) {
-        items.put(item, items.getOrDefault(item, 0) + count);
+    public void add(String item, int count) {
+        add(ItemRegistry.register(item), count);
     }
 
     /**
@@ -35,15 +166,11 @@ public class Inventory {
      * @param count amount to remove
      * @return true if removal succeeded, false if insufficient quantity
      */
-    public synchronized boolean remove(String item, int count) {
-        int curr = items.getOrDefault(item, 0);
-        if (curr < count)
-            return false;
-        if (curr == count)
-            items.remove(item);
-        else
-            items.put(item, curr - count);
-        return true;
+    public boolean remove(String item, int count) {
+        int id = ItemRegistry.id(item);
+        if (id == ItemRegistry.UNKNOWN)
+            return count <= 0;
+        return remove(id, count);
     }
 
     /**
@@ -52,16 +179,26 @@ public class Inventory {
      * @param item item identifier
      * @return quantity owned
      */
-    public synchronized int get(String item) {
-        return items.getOrDefault(item, 0);
+    public int get(String item) {
+        int id = ItemRegistry.id(item);
+        return id == ItemRegistry.UNKNOWN ? 0 : get(id);
     }
 
     /**
      * Returns an immutable snapshot of the inventory contents.
+     * Items with a quantity of zero are left out.
      *
      * @return unmodifiable map of items and quantities
      */
-    public synchronized Map<String, Integer> getItems() {
-        return Collections.unmodifiableMap(new HashMap<>(items));
+    public Map<String, Integer> getItems() {
+        int[] snapshot = new int[ItemRegistry.size()];
+        snapshot(snapshot);
+
+        Map<String, Integer> items = new HashMap<>();
+        for (int id = 0; id < snapshot.length; id++) {
+            if (snapshot[id] != 0)
+                items.put(ItemRegistry.name(id), snapshot[id]);
+        }
+        return Collections.unmodifiableMap(items);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+// ---------------------------
+// File: src/main/java/io/github/game/util/ItemRegistry.java
+// ---------------------------
+package io.github.game.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps item names to dense integer ids.
+ * <p>
+ * Ids start at 0 and are handed out in registration order, so they can index
+ * plain arrays such as the counts in {@link Inventory}. The built-in items
+ * are registered up front; other names are registered on first use through
+ * the string API.
+ */
+public final class ItemRegistry {
+
+    /** Maximum number of distinct items. */
+    public static final int CAPACITY = 256;
+
+    /** Returned by {@link #id(String)} for names that were never registered. */
+    public static final int UNKNOWN = -1;
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final String[] NAMES = new String[CAPACITY];
+    private static volatile int count = 0;
+
+    // Built-in items
+    public static final int WHEAT = register("wheat");
+    public static final int TOMATO = register("tomato");
+
+    private ItemRegistry() {
+    }
+
+    /**
+     * Returns the id of an item, registering the name if it is new.
+     *
+     * @param name item name
+     * @return dense item id
+     * @throws IllegalStateException if the registry is full
+     */
+    public static synchronized int register(String name) {
+        Integer existing = IDS.get(name);
+        if (existing != null)
+            return existing;
+        if (count == CAPACITY)
+            throw new IllegalStateException("Item registry is full: " + name);
+
+        int id = count;
+        NAMES[id] = name;
+        IDS.put(name, id);
+        count = id + 1;
+        return id;
+    }
+
+    /**
+     * Looks up the id of an item without registering it.
+     *
+     * @param name item name
+     * @return item id, or {@link #UNKNOWN}
+     */
+    public static int id(String name) {
+        Integer id = IDS.get(name);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Returns the name of an item id.
+     *
+     * @param id item id
+     * @return item name
+     */
+    public static String name(int id) {
+        if (id < 0 || id >= count)
+            throw new IllegalArgumentException("Unknown item id: " + id);
+        return NAMES[id];
+    }
+
+    /**
+     * Returns the number of registered items. Ids are {@code 0..size()-1}.
+     *
+     * @return registered item count
+     */
+    public static int size() {
+        return count;
+    }
+}
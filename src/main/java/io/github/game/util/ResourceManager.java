@@ -3,33 +3,111 @@
 // ---------------------------
 package io.github.game.util;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import javafx.scene.image.Image;
 
 /**
  * Utility class responsible for loading external game resources.
  * Currently supports image loading from the classpath.
+ * <p>
+ * Decoded images are memoized in a shared {@link ImageCache}, so repeated
+ * loads of the same path return the same image without decoding again.
  */
 public class ResourceManager {
 
+    /** Classpath manifest listing the images to preload at startup, one path per line. */
+    public static final String PRELOAD_MANIFEST = "preload.manifest";
+
+    private static final ImageCache IMAGES = new ImageCache(ResourceManager::decodeImage);
+
     /**
-     * Loads an image resource from the classpath.
+     * Loads an image resource from the classpath, using the cache when the
+     * path has been loaded or preloaded before.
      *
      * @param relativePath path relative to the resources directory
      * @return loaded Image, or null if loading fails
      */
     public static Image loadImage(String relativePath) {
+        return IMAGES.get(relativePath);
+    }
+
+    /**
+     * Decodes an image from the classpath without consulting the cache.
+     *
+     * @param relativePath path relative to the resources directory
+     * @return decoded Image, or null if loading fails
+     */
+    private static Image decodeImage(String relativePath) {
         InputStream is = ResourceManager.class.getClassLoader().getResourceAsStream(relativePath);
         if (is == null) {
             System.err.println("Missing resource: " + relativePath);
             return null;
         }
-        try {
+        try (is) {
             return new Image(is);
         } catch (Exception e) {
             System.err.println("Failed to load image: " + relativePath + " -> " + e.getMessage());
             return null;
         }
     }
+
+    /**
+     * Starts decoding every image listed in a manifest on the common pool.
+     * Blank lines and lines starting with {@code #} are ignored.
+     *
+     * @param manifestPath classpath location of the manifest
+     * @return future completing once every listed image is cached
+     */
+    public static CompletableFuture<Void> preloadManifest(String manifestPath) {
+        return preloadManifest(manifestPath, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Starts decoding every image listed in a manifest on the given executor.
+     *
+     * @param manifestPath classpath location of the manifest
+     * @param executor     executor running the decodes
+     * @return future completing once every listed image is cached; completes
+     *         immediately if the manifest is missing
+     */
+    public static CompletableFuture<Void> preloadManifest(String manifestPath, Executor executor) {
+        InputStream is = ResourceManager.class.getClassLoader().getResourceAsStream(manifestPath);
+        if (is == null) {
+            System.err.println("Missing resource: " + manifestPath);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<String> paths = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#"))
+                    paths.add(line);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read manifest: " + manifestPath + " -> " + e.getMessage());
+        }
+        return IMAGES.preload(paths, executor);
+    }
+
+    /**
+     * Returns the shared image cache, e.g. to set a memory budget or read
+     * hit counts.
+     *
+     * @return the image cache used by {@link #loadImage(String)}
+     */
+    public static ImageCache getImageCache() {
+        return IMAGES;
+    }
 }
@@ -0,0 +1,156 @@
+// ---------------------------
+// File: src/main/java/io/github/game/util/TextureAtlas.java
+// ---------------------------
+package io.github.game.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+/**
+ * A single image holding every sprite, plus the region of each sprite in it.
+ * <p>
+ * Sprites are looked up by their original resource path and drawn with a
+ * source rectangle, so all sprite drawing shares one texture. The prebuilt
+ * atlas from {@link AtlasPacker} is decoded once at startup; if it is missing
+ * or lacks a sprite, the atlas is packed in memory from the individual images
+ * instead.
+ */
+public class TextureAtlas {
+
+    /**
+     * Location of one sprite inside the atlas image.
+     */
+    public static final class Region {
+        public final int x, y, width, height;
+
+        public Region(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private final Image image;
+    private final Map<String, Region> regions;
+
+    private TextureAtlas(Image image, Map<String, Region> regions) {
+        this.image = image;
+        this.regions = regions;
+    }
+
+    /**
+     * Loads the prebuilt atlas, or packs one from the individual sprites if
+     * the prebuilt atlas does not contain all of them.
+     *
+     * @param required resource paths of every sprite the caller will draw
+     * @return atlas containing at least the required sprites
+     */
+    public static TextureAtlas load(List<String> required) {
+        TextureAtlas atlas = loadPrebuilt();
+        if (atlas != null && atlas.regions.keySet().containsAll(required))
+            return atlas;
+        return pack(required);
+    }
+
+    /**
+     * Reads the atlas image and index from the classpath.
+     *
+     * @return the atlas, or null if it is not available
+     */
+    private static TextureAtlas loadPrebuilt() {
+        InputStream index = TextureAtlas.class.getClassLoader().getResourceAsStream(AtlasPacker.ATLAS_INDEX);
+        if (index == null)
+            return null;
+
+        Map<String, Region> regions = new HashMap<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.trim().split(" ");
+                if (parts.length != 5)
+                    continue;
+                regions.put(parts[0], new Region(
+                        Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                        Integer.parseInt(parts[3]), Integer.parseInt(parts[4])));
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Failed to read sprite atlas index: " + e.getMessage());
+            return null;
+        }
+
+        Image image = ResourceManager.loadImage(AtlasPacker.ATLAS_IMAGE);
+        if (image == null)
+            return null;
+        return new TextureAtlas(image, regions);
+    }
+
+    /**
+     * Packs the given sprites into a new in-memory atlas using the same
+     * layout and edge padding as {@link AtlasPacker}.
+     */
+    private static TextureAtlas pack(List<String> paths) {
+        int n = paths.size();
+        Image[] sprites = new Image[n];
+        int[] widths = new int[n];
+        int[] heights = new int[n];
+        for (int i = 0; i < n; i++) {
+            sprites[i] = ResourceManager.loadImage(paths.get(i));
+            widths[i] = sprites[i] == null ? 0 : (int) sprites[i].getWidth();
+            heights[i] = sprites[i] == null ? 0 : (int) sprites[i].getHeight();
+        }
+
+        AtlasPacker.Layout layout = AtlasPacker.layout(widths, heights);
+        WritableImage image = new WritableImage(layout.width, Math.max(1, layout.height));
+        PixelWriter writer = image.getPixelWriter();
+        Map<String, Region> regions = new HashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            if (sprites[i] == null)
+                continue;
+            PixelReader reader = sprites[i].getPixelReader();
+            int pad = AtlasPacker.PADDING;
+            for (int dy = -pad; dy < heights[i] + pad; dy++) {
+                for (int dx = -pad; dx < widths[i] + pad; dx++) {
+                    int argb = reader.getArgb(
+                            AtlasPacker.clampToSprite(dx, widths[i]),
+                            AtlasPacker.clampToSprite(dy, heights[i]));
+                    writer.setArgb(layout.x[i] + dx, layout.y[i] + dy, argb);
+                }
+            }
+            regions.put(paths.get(i), new Region(layout.x[i], layout.y[i], widths[i], heights[i]));
+        }
+
+        return new TextureAtlas(image, regions);
+    }
+
+    /**
+     * Returns the region of a sprite.
+     *
+     * @param path original resource path of the sprite
+     * @return region in the atlas, or null if the sprite is unknown
+     */
+    public Region get(String path) {
+        return regions.get(path);
+    }
+
+    /**
+     * Returns the atlas image all regions refer to.
+     *
+     * @return atlas image
+     */
+    public Image getImage() {
+        return image;
+    }
+}
@@ -0,0 +1,227 @@
+// ---------------------------
+// File: src/main/java/io/github/game/world/ChunkedTileMap.java
+// ---------------------------
+package io.github.game.world;
+
+import io.github.game.world.tiles.AbstractTile;
+
+/**
+ * Sparse tile storage that splits the world into fixed-size square chunks.
+ * <p>
+ * Chunks are only allocated the first time a tile inside them is changed.
+ * Until then every lookup is answered by a {@link TileGenerator}, which is
+ * expected to hand out shared tile instances, so untouched areas of the map
+ * cost a single null reference per chunk.
+ */
+public class ChunkedTileMap {
+
+    /** Log2 of the chunk edge length. */
+    public static final int CHUNK_SHIFT = 5;
+
+    /** Number of tiles along one edge of a chunk. */
+    public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final int width;
+    private final int height;
+    private final int chunksX;
+    private final TileGenerator generator;
+
+    /** Chunk tiles indexed by [chunkY * chunksX + chunkX][localY * CHUNK_SIZE + localX]. */
+    private final AbstractTile[][] chunks;
+    private int allocatedChunks = 0;
+
+    /**
+     * Supplies the tile found at a position that has never been written.
+     */
+    @FunctionalInterface
+    public interface TileGenerator {
+
+        /**
+         * Returns the default tile for the given coordinates.
+         *
+         * @param x tile x-coordinate
+         * @param y tile y-coordinate
+         * @return default tile, typically a shared instance
+         */
+        AbstractTile tileAt(int x, int y);
+    }
+
+    /**
+     * Receives the tiles of allocated chunks during iteration.
+     */
+    @FunctionalInterface
+    public interface TileVisitor {
+
+        /**
+         * Called once per tile.
+         *
+         * @param x    tile x-coordinate
+         * @param y    tile y-coordinate
+         * @param tile tile stored at that position
+         */
+        void visit(int x, int y, AbstractTile tile);
+    }
+
+    /**
+     * Constructs an empty map where every tile comes from the generator.
+     *
+     * @param width     map width in tiles
+     * @param height    map height in tiles
+     * @param generator source of default tiles for unwritten positions
+     */
+    public ChunkedTileMap(int width, int height, TileGenerator generator) {
+        this.width = width;
+        this.height = height;
+        this.generator = generator;
+        this.chunksX = (width + CHUNK_MASK) >> CHUNK_SHIFT;
+        int chunksY = (height + CHUNK_MASK) >> CHUNK_SHIFT;
+        this.chunks = new AbstractTile[chunksX * chunksY][];
+    }
+
+    /**
+     * Returns the tile at the given coordinates.
+     * Callers are responsible for bounds checking.
+     *
+     * @param x tile x-coordinate
+     * @param y tile y-coordinate
+     * @return stored tile, or the generated default if never written
+     */
+    public AbstractTile get(int x, int y) {
+        AbstractTile[] chunk = chunks[chunkIndex(x, y)];
+        if (chunk == null)
+            return generator.tileAt(x, y);
+        return chunk[localIndex(x, y)];
+    }
+
+    /**
+     * Stores a tile at the given coordinates.
+     * Writing the default tile into an untouched chunk does not allocate it.
+     * Callers are responsible for bounds checking.
+     *
+     * @param x    tile x-coordinate
+     * @param y    tile y-coordinate
+     * @param tile tile to store
+     */
+    public void set(int x, int y, AbstractTile tile) {
+        int ci = chunkIndex(x, y);
+        AbstractTile[] chunk = chunks[ci];
+        if (chunk == null) {
+            if (tile == generator.tileAt(x, y))
+                return;
+            chunk = allocateChunk(ci);
+        }
+        chunk[localIndex(x, y)] = tile;
+    }
+
+    /**
+     * Visits every tile inside chunks that have been allocated.
+     * Tiles in untouched chunks are skipped since they only hold defaults.
+     *
+     * @param visitor callback receiving each tile
+     */
+    public void forEachAllocated(TileVisitor visitor) {
+        for (int ci = 0; ci < chunks.length; ci++) {
+            AbstractTile[] chunk = chunks[ci];
+            if (chunk == null)
+                continue;
+
+            int originX = (ci % chunksX) << CHUNK_SHIFT;
+            int originY = (ci / chunksX) << CHUNK_SHIFT;
+            int maxX = Math.min(CHUNK_SIZE, width - originX);
+            int maxY = Math.min(CHUNK_SIZE, height - originY);
+
+            for (int ly = 0; ly < maxY; ly++) {
+                for (int lx = 0; lx < maxX; lx++) {
+                    visitor.visit(originX + lx, originY + ly, chunk[(ly << CHUNK_SHIFT) | lx]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills a new chunk with generated defaults so reads stay unchanged.
+     */
+    private AbstractTile[] allocateChunk(int ci) {
+        AbstractTile[] chunk = new AbstractTile[CHUNK_SIZE * CHUNK_SIZE];
+        int originX = (ci % chunksX) << CHUNK_SHIFT;
+        int originY = (ci / chunksX) << CHUNK_SHIFT;
+        int maxX = Math.min(CHUNK_SIZE, width - originX);
+        int maxY = Math.min(CHUNK_SIZE, height - originY);
+
+        for (int ly = 0; ly < maxY; ly++) {
+            for (int lx = 0; lx < maxX; lx++) {
+                chunk[(ly << CHUNK_SHIFT) | lx] = generator.tileAt(originX + lx, originY + ly);
+            }
+        }
+
+        chunks[ci] = chunk;
+        allocatedChunks++;
+        return chunk;
+    }
+
+    /**
+     * Allocates the chunk containing a tile, filled with generated defaults,
+     * if it is not allocated yet.
+     *
+     * @param x tile x-coordinate
+     * @param y tile y-coordinate
+     * @return true if the chunk was allocated by this call
+     */
+    public boolean allocate(int x, int y) {
+        int ci = chunkIndex(x, y);
+        if (chunks[ci] != null)
+            return false;
+        allocateChunk(ci);
+        return true;
+    }
+
+    /**
+     * Checks whether the chunk containing a tile has been allocated.
+     *
+     * @param x tile x-coordinate
+     * @param y tile y-coordinate
+     * @return true if the chunk is allocated
+     */
+    public boolean isAllocatedAt(int x, int y) {
+        return chunks[chunkIndex(x, y)] != null;
+    }
+
+    /**
+     * Checks whether a chunk has been allocated. Tiles in a chunk that is not
+     * allocated all equal the generator's defaults.
+     *
+     * @param chunkX chunk column
+     * @param chunkY chunk row
+     * @return true if any tile in the chunk was ever written
+     */
+    public boolean isChunkAllocated(int chunkX, int chunkY) {
+        return chunks[chunkY * chunksX + chunkX] != null;
+    }
+
+    private int chunkIndex(int x, int y) {
+        return (y >> CHUNK_SHIFT) * chunksX + (x >> CHUNK_SHIFT);
+    }
+
+    private static int localIndex(int x, int y) {
+        return ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+    }
+
+    // Getters
+    public int getAllocatedChunkCount() {
+        return allocatedChunks;
+    }
+
+    public int getTotalChunkCount() {
+        return chunks.length;
+    }
+
+    public int getChunksX() {
+        return chunksX;
+    }
+
+    public int getChunksY() {
+        return chunks.length / chunksX;
+    }
+}
@@ -34,6 +34,19 @@ public class DayCycle {
         }
     }
 
+    /**
+     * Restores the cycle position, e.g. from a saved game.
+     *
+     * @param tick     tick within the current day, below day plus night length
+     * @param dayCount current day number, starting at 1
+     */
+    public void restore(int tick, int dayCount) {
+        if (tick < 0 || tick >= dayLength + nightLength)
+            throw new IllegalArgumentException("Tick out of range: " + tick);
+        this.tick = tick;
+        this.dayCount = dayCount;
+    }
+
     // Getters
     public int getDayCount() {
         return dayCount;
@@ -43,6 +56,16 @@ public class DayCycle {
         return tick;
     }
 
+    /**
+     * Returns the number of ticks since the first tick of day 1, a position
+     * in time that never wraps, e.g. to timestamp recorded input.
+     *
+     * @return ticks elapsed in total
+     */
+    public long getTotalTicks() {
+        return (long) (dayCount - 1) * (dayLength + nightLength) + tick;
+    }
+
     public int getDayLength() {
         return dayLength;
     }
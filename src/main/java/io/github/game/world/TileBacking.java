@@ -0,0 +1,52 @@
+// ---------------------------
+// File: src/main/java/io/github/game/world/TileBacking.java
+// ---------------------------
+package io.github.game.world;
+
+import io.github.game.world.tiles.AbstractTile;
+
+/**
+ * External storage behind a world's tiles, such as a memory-mapped file.
+ * <p>
+ * A backed world starts with no chunks in memory. Cells without state are
+ * answered straight from the backing with shared tiles; the first time a
+ * cell with state (a dirt tile, possibly with a crop) is read, or any cell
+ * of a chunk is changed, the whole chunk is loaded into the world's
+ * {@link ChunkedTileMap}. From then on the in-memory chunk is authoritative.
+ * Day rollover never visits the backing; crops in a chunk that was not
+ * loaded catch up on the days they missed when {@link #loadChunk} brings the
+ * chunk in, so a rollover does not depend on the map size.
+ */
+public interface TileBacking {
+
+    /**
+     * Returns the tile for a cell of a chunk that has not been loaded.
+     * Must return shared instances for stateless cells. For cells with state
+     * it may return a fresh, empty tile; {@link #loadChunk} fills it in.
+     *
+     * @param x tile x-coordinate
+     * @param y tile y-coordinate
+     * @return tile stored in the backing
+     */
+    AbstractTile tileAt(int x, int y);
+
+    /**
+     * Checks whether a cell needs its chunk loaded before it can be used.
+     *
+     * @param x tile x-coordinate
+     * @param y tile y-coordinate
+     * @return true if the cell has per-tile state
+     */
+    boolean hasState(int x, int y);
+
+    /**
+     * Restores the per-tile state of a freshly allocated chunk, e.g. plants
+     * the saved crops on its dirt tiles and grows them to the current day.
+     *
+     * @param world  world owning the chunk
+     * @param chunkX chunk column
+     * @param chunkY chunk row
+     */
+    void loadChunk(World world, int chunkX, int chunkY);
+
+}
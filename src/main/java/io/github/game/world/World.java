@@ -3,7 +3,15 @@
 // ---------------------------
 package io.github.game.world;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.github.game.crops.CropStore;
 import io.github.game.entities.Player;
+import io.github.game.jfr.DayRolloverEvent;
 import io.github.game.world.tiles.AbstractTile;
 import io.github.game.world.tiles.DirtTile;
 import io.github.game.world.tiles.GrassTile;
@@ -17,7 +25,22 @@ public class World {
 
     private final int width;
     private final int height;
-    private final AbstractTile[][] tiles;
+    private final ChunkedTileMap tiles;
+
+    /** Dirt tiles that currently hold a crop, in planting order. */
+    private final Set<DirtTile> plantedTiles = new LinkedHashSet<>();
+
+    /** Growth state of every planted crop; reports stage changes by tile index. */
+    private final CropStore cropStore = new CropStore();
+
+    /** Storage behind unloaded chunks, or null for a purely in-memory world. */
+    private final TileBacking backing;
+
+    /** Observers notified of tile and crop changes. */
+    private final List<WorldListener> listeners = new ArrayList<>();
+
+    /** Stage changes reported during the current rollover, for diagnostics. */
+    private int stageChanges = 0;
     private final Player player;
     private final DayCycle dayCycle;
 
@@ -30,55 +53,175 @@ public class World {
      * @param nightLength ticks per night
      */
     public World(int width, int height, int dayLength, int nightLength) {
+        this(width, height, dayLength, nightLength, null);
+    }
+
+    /**
+     * Constructs a game world whose tiles come from external storage.
+     * Chunks are loaded on first use, so construction does not depend on
+     * the map size.
+     *
+     * @param width       world width in tiles
+     * @param height      world height in tiles
+     * @param dayLength   ticks per day
+     * @param nightLength ticks per night
+     * @param backing     tile storage, or null for the generated default map
+     */
+    public World(int width, int height, int dayLength, int nightLength, TileBacking backing) {
         this.width = width;
         this.height = height;
-        tiles = new AbstractTile[width][height];
-
-        initTiles();
+        this.backing = backing;
+        tiles = new ChunkedTileMap(width, height, backing != null ? backing::tileAt : this::defaultTile);
 
         player = new Player(1, 1);
         dayCycle = new DayCycle(dayLength, nightLength);
+        cropStore.setStageListener(this::fireCropStageChanged);
     }
 
     /**
-     * Initializes world tiles.
+     * Returns the generated tile for a position that has never been changed:
+     * water along the border, grass everywhere else.
      */
-    private void initTiles() {
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                if (x == 0 || y == 0 || x == width - 1 || y == height - 1) {
-                    tiles[x][y] = new WaterTile();
-                } else {
-                    tiles[x][y] = new GrassTile();
-                }
-            }
-        }
+    private AbstractTile defaultTile(int x, int y) {
+        if (x == 0 || y == 0 || x == width - 1 || y == height - 1)
+            return WaterTile.INSTANCE;
+        return GrassTile.INSTANCE;
     }
 
     /**
      * Updates world state each tick.
      */
     public void update() {
+        player.update(); // movement, animation and interaction timers
         dayCycle.tick(); // advance the day/night cycle
 
         if (dayCycle.getCurrentTick() == 0) {
-            onNewDay(); // trigger crops
+            growCrops(1); // trigger crops
         }
     }
 
     /**
-     * Triggers crop growth for a new day.
+     * Triggers crop growth for one or more new days.
+     * All planted crops live in the crop store, which only visits the crops
+     * changing stage and reports their tiles to the listeners, so the cost
+     * follows the number of stage changes rather than the map area.
      */
-    private void onNewDay() {
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                if (tiles[x][y] instanceof DirtTile dirt && dirt.hasCrop()) {
-                    dirt.onNewDay();
-                }
-            }
+    private void growCrops(int days) {
+        DayRolloverEvent event = new DayRolloverEvent();
+        event.begin();
+        stageChanges = 0;
+
+        cropStore.advanceDays(days); // unloaded chunks of a backing catch up when loaded
+        for (WorldListener l : listeners) {
+            l.onCropsAdvanced();
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.day = dayCycle.getDayCount();
+            event.days = days;
+            event.crops = cropStore.size();
+            event.stageChanges = stageChanges;
+            event.commit();
         }
     }
 
+    /**
+     * Skips ahead to the start of a later day without ticking through the
+     * time in between, e.g. to sleep through the night, fast-forward or
+     * catch up on time spent offline. Crops grow as if every day rollover
+     * had happened, computed in a single pass.
+     *
+     * @param days number of day rollovers to skip; 1 moves to the start of
+     *             the next day
+     * @throws IllegalArgumentException if days is negative
+     */
+    public void advanceDays(int days) {
+        if (days < 0)
+            throw new IllegalArgumentException("Negative day count: " + days);
+        if (days == 0)
+            return;
+        dayCycle.restore(0, dayCycle.getDayCount() + days);
+        growCrops(days);
+    }
+
+    /**
+     * Adds a tile to the set of planted tiles and moves its crop into the
+     * crop store. Called by {@link DirtTile} when a crop is planted.
+     *
+     * @param tile tile holding a crop
+     */
+    public void registerCrop(DirtTile tile) {
+        if (plantedTiles.add(tile) && !tile.getCrop().isAttached())
+            cropStore.attach(tile.getCrop(), tileIndex(tile.getX(), tile.getY()));
+        fireTileChanged(tile.getX(), tile.getY());
+    }
+
+    /**
+     * Removes a tile from the set of planted tiles and releases its crop's
+     * slot in the crop store. Called by {@link DirtTile} before its crop is
+     * harvested or removed. Listeners are not notified here, since the tile
+     * still holds the crop; the caller reports the change once it is done.
+     *
+     * @param tile tile whose crop is about to go away
+     */
+    public void unregisterCrop(DirtTile tile) {
+        if (plantedTiles.remove(tile) && tile.getCrop().isAttached())
+            cropStore.detach(tile.getCrop());
+    }
+
+    /**
+     * Notifies listeners that the state of a tile changed in place, e.g. its
+     * crop was harvested.
+     *
+     * @param x tile x-coordinate
+     * @param y tile y-coordinate
+     */
+    public void notifyTileChanged(int x, int y) {
+        fireTileChanged(x, y);
+    }
+
+    /**
+     * Registers a listener for tile and crop changes.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(WorldListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(WorldListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireTileChanged(int x, int y) {
+        for (WorldListener l : listeners) {
+            l.onTileChanged(x, y);
+        }
+    }
+
+    private void fireCropStageChanged(int index) {
+        stageChanges++;
+        int x = index % width, y = index / width;
+        for (WorldListener l : listeners) {
+            l.onCropStageChanged(x, y);
+        }
+    }
+
+    /**
+     * Returns the row-major index used to tag a tile's crop in the crop
+     * store, or -1 if the map is too large for int indices.
+     */
+    private int tileIndex(int x, int y) {
+        long index = (long) y * width + x;
+        return index <= Integer.MAX_VALUE ? (int) index : -1;
+    }
+
     /**
      * Returns the tile at the given world coordinates.
      * Returns null if the coordinates are out of bounds.
@@ -86,16 +229,43 @@ public class World {
     public AbstractTile getTile(int x, int y) {
         if (x < 0 || y < 0 || x >= width || y >= height)
             return null;
-        return tiles[x][y];
+        if (backing != null && !tiles.isAllocatedAt(x, y) && backing.hasState(x, y))
+            loadChunk(x, y);
+        return tiles.get(x, y);
+    }
+
+    /**
+     * Brings the chunk containing a tile into memory from the backing.
+     * Like the rest of the world, only used on the game loop thread, or on
+     * another thread once the loop has stopped.
+     */
+    private void loadChunk(int x, int y) {
+        if (tiles.allocate(x, y))
+            backing.loadChunk(this, x >> ChunkedTileMap.CHUNK_SHIFT, y >> ChunkedTileMap.CHUNK_SHIFT);
     }
 
     /**
      * Replaces the tile at the given coordinates if they are in bounds.
+     * Dirt tiles are attached to this world so their crops are tracked.
      */
     public void setTile(int x, int y, AbstractTile tile) {
         if (x < 0 || y < 0 || x >= width || y >= height)
             return;
-        tiles[x][y] = tile;
+        if (backing != null && !tiles.isAllocatedAt(x, y))
+            loadChunk(x, y);
+
+        AbstractTile old = tiles.get(x, y);
+        if (old == tile)
+            return;
+        if (old instanceof DirtTile oldDirt)
+            oldDirt.detach();
+
+        tiles.set(x, y, tile);
+
+        if (tile instanceof DirtTile dirt)
+            dirt.attach(this, x, y);
+
+        fireTileChanged(x, y);
     }
 
     // Getters
@@ -111,6 +281,42 @@ public class World {
         return height;
     }
 
+    public int getPlantedCount() {
+        return plantedTiles.size();
+    }
+
+    /**
+     * Returns the tiles that currently hold a crop, in planting order.
+     *
+     * @return read-only view of the planted tiles
+     */
+    public Set<DirtTile> getPlantedTiles() {
+        return Collections.unmodifiableSet(plantedTiles);
+    }
+
+    /**
+     * Returns the underlying tile storage, e.g. to skip untouched chunks
+     * when saving. Changes must still go through {@link #setTile}.
+     *
+     * @return chunked tile map
+     */
+    public ChunkedTileMap getTileMap() {
+        return tiles;
+    }
+
+    /**
+     * Returns the storage behind unloaded chunks.
+     *
+     * @return tile backing, or null for an in-memory world
+     */
+    public TileBacking getBacking() {
+        return backing;
+    }
+
+    public CropStore getCropStore() {
+        return cropStore;
+    }
+
     public DayCycle getDayCycle() {
         return dayCycle;
     }
@@ -0,0 +1,40 @@
+// ---------------------------
+// File: src/main/java/io/github/game/world/WorldListener.java
+// ---------------------------
+package io.github.game.world;
+
+/**
+ * Receives notifications about changes to the world's tiles and crops.
+ * Used by the autosave journal to record only what changed. Callbacks run
+ * on the thread that made the change.
+ */
+public interface WorldListener {
+
+    /**
+     * Called when a tile is replaced or its crop is planted or removed.
+     *
+     * @param x tile x-coordinate
+     * @param y tile y-coordinate
+     */
+    default void onTileChanged(int x, int y) {
+    }
+
+    /**
+     * Called during day rollover for each planted tile whose crop moved to a
+     * later growth stage. Crops that only gained progress are not reported.
+     *
+     * @param x tile x-coordinate
+     * @param y tile y-coordinate
+     */
+    default void onCropStageChanged(int x, int y) {
+    }
+
+    /**
+     * Called after day rollover advanced crop growth, once the changed
+     * stages have been reported through {@link #onCropStageChanged}.
+     * Crops in chunks of a backed world that are not loaded are not
+     * reported individually.
+     */
+    default void onCropsAdvanced() {
+    }
+}
@@ -0,0 +1,568 @@
+// ---------------------------
+// File: src/main/java/io/github/game/world/save/ChangeJournal.java
+// ---------------------------
+package io.github.game.world.save;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+import io.github.game.crops.Crop;
+import io.github.game.util.Inventory;
+import io.github.game.util.ItemRegistry;
+import io.github.game.world.World;
+import io.github.game.world.WorldListener;
+import io.github.game.world.tiles.AbstractTile;
+import io.github.game.world.tiles.DirtTile;
+import io.github.game.world.tiles.GrassTile;
+import io.github.game.world.tiles.TileType;
+import io.github.game.world.tiles.WaterTile;
+
+/**
+ * Incremental autosave: an append-only journal of world changes on top of
+ * a full {@link WorldSave} snapshot.
+ * <p>
+ * The journal listens to tile changes, day rollovers and inventory changes
+ * and turns each into one {@code long} record. Recording only appends to an
+ * in-memory buffer; a background thread writes the buffer to the journal
+ * file in batches and syncs it, so the game thread never waits for disk.
+ * Once the journal grows past a size limit, the same thread rebuilds the
+ * world from snapshot and journal, writes it as the new snapshot and starts
+ * an empty journal.
+ * <p>
+ * Records hold the resulting state of a cell or item rather than the
+ * operation, so replaying one twice is harmless. Crop progress is not
+ * journaled; it is reproduced by replaying the day records in order. The
+ * journal header stores a checksum of the snapshot it belongs to, so a
+ * journal left over from before a newer snapshot is ignored on recovery.
+ * After recovery the clock resumes at the start of the last journaled day.
+ * <p>
+ * Tile types and crops are recorded by their frozen {@link SaveCodes}. Item
+ * records carry the writing game's {@link ItemRegistry} id; before the first
+ * record of an item in a journal file, the writer adds name records that
+ * bind the id to the item's name, and replay maps ids through those names.
+ * Journals of format version 1 have no name records and are read with the
+ * built-in item ids.
+ * <p>
+ * If the journal cannot be written, journaling stops and the journal is
+ * marked as not belonging to any snapshot, so recovery falls back to the
+ * snapshot instead of replaying a journal with records missing.
+ */
+public class ChangeJournal implements WorldListener, Inventory.Listener, AutoCloseable {
+
+    /** File signature, "FHJN". */
+    public static final int MAGIC = 0x46484A4E;
+
+    /** Current format version. */
+    public static final int FORMAT_VERSION = 2;
+
+    /** Journal size from which it is folded into a new snapshot. */
+    public static final long DEFAULT_COMPACT_BYTES = 4L << 20;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int VERSION_OFFSET = 4;
+    private static final int BASE_OFFSET = 8;
+
+    /** Base of a journal that matches no snapshot; checksums are never negative. */
+    private static final long NO_BASE = -1;
+    private static final long FLUSH_INTERVAL_NANOS = 1_000_000_000L;
+    private static final int BATCH_RECORDS = 4096;
+
+    /** Largest world edge whose coordinates fit into a record. */
+    public static final int MAX_EDGE = 1 << 20;
+
+    // Record opcodes, stored in the top four bits
+    private static final int OP_CELL = 1;
+    private static final int OP_DAY = 2;
+    private static final int OP_ITEM = 3;
+    private static final int OP_NAME = 4;
+
+    // Name records: a continuation bit, the byte count, the item id and up
+    // to NAME_CHUNK bytes of the UTF-8 name, first byte highest
+    private static final long NAME_MORE = 1L << 59;
+    private static final int NAME_CHUNK = 6;
+
+    private final World world;
+    private final Path snapshot;
+    private final Path journal;
+    private final long compactBytes;
+
+    // Records not yet written; guarded by this
+    private long[] pending = new long[BATCH_RECORDS];
+    private int pendingCount = 0;
+
+    // Owned by the writer thread; null while the last swapped-out batch is unwritten
+    private long[] spare = new long[BATCH_RECORDS];
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BATCH_RECORDS * Long.BYTES);
+    private FileChannel channel;
+
+    /** Items whose names the current journal file already defines. */
+    private final boolean[] named = new boolean[ItemRegistry.CAPACITY];
+
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean failed = false;
+    private volatile long recordsWritten = 0;
+    private volatile int compactions = 0;
+
+    private ChangeJournal(World world, Path snapshot, Path journal, long compactBytes) throws IOException {
+        if (world.getWidth() > MAX_EDGE || world.getHeight() > MAX_EDGE)
+            throw new IllegalArgumentException("World too large for the journal: "
+                    + world.getWidth() + "x" + world.getHeight());
+        this.world = world;
+        this.snapshot = snapshot;
+        this.journal = journal;
+        this.compactBytes = compactBytes;
+
+        long base = checksum(snapshot);
+        if (readBase(journal) == base) {
+            channel = FileChannel.open(journal, StandardOpenOption.WRITE);
+            // Drop a torn record at the end, if any
+            long records = (channel.size() - HEADER_SIZE) / Long.BYTES;
+            channel.truncate(HEADER_SIZE + records * Long.BYTES);
+            // Older versions are a subset of this one; the records appended now are not
+            ByteBuffer version = ByteBuffer.allocate(Integer.BYTES).putInt(0, FORMAT_VERSION);
+            while (version.hasRemaining())
+                channel.write(version, VERSION_OFFSET + version.position());
+            channel.position(channel.size());
+        } else {
+            writeEmptyJournal(journal, base);
+            channel = FileChannel.open(journal, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+
+        writer = new Thread(this::runWriter, "autosave-journal");
+        writer.setDaemon(true);
+    }
+
+    /**
+     * Starts journaling changes of a world. The world must match the
+     * snapshot plus any journal already on disk, i.e. come from
+     * {@link #recover(Path, Path)} or have just been saved to the snapshot.
+     *
+     * @param world    world to journal
+     * @param snapshot snapshot file written by {@link WorldSave}
+     * @param journal  journal file, created if missing
+     * @return running journal
+     * @throws IOException if the journal cannot be opened
+     */
+    public static ChangeJournal start(World world, Path snapshot, Path journal) throws IOException {
+        return start(world, snapshot, journal, DEFAULT_COMPACT_BYTES);
+    }
+
+    /**
+     * Starts journaling with a custom compaction threshold.
+     *
+     * @param world        world to journal
+     * @param snapshot     snapshot file written by {@link WorldSave}
+     * @param journal      journal file, created if missing
+     * @param compactBytes journal size that triggers a new snapshot
+     * @return running journal
+     * @throws IOException if the journal cannot be opened
+     */
+    public static ChangeJournal start(World world, Path snapshot, Path journal, long compactBytes)
+            throws IOException {
+        ChangeJournal j = new ChangeJournal(world, snapshot, journal, compactBytes);
+        world.addListener(j);
+        world.getPlayer().getInventory().setListener(j);
+        j.writer.start();
+        return j;
+    }
+
+    /**
+     * Loads the snapshot and replays the journal on top of it, if the
+     * journal belongs to this snapshot.
+     *
+     * @param snapshot snapshot file written by {@link WorldSave}
+     * @param journal  journal file; may be missing
+     * @return the recovered world
+     * @throws IOException if the snapshot cannot be read
+     */
+    public static World recover(Path snapshot, Path journal) throws IOException {
+        World world = WorldSave.load(snapshot);
+        if (readBase(journal) == checksum(snapshot))
+            replay(world, journal);
+        return world;
+    }
+
+    // ---------------- RECORDING ----------------
+
+    @Override
+    public void onTileChanged(int x, int y) {
+        AbstractTile tile = world.getTile(x, y);
+        int kind = 0, stage = 0;
+        if (tile instanceof DirtTile dirt && dirt.hasCrop()) {
+            kind = SaveCodes.cropCode(dirt.getCrop()) + 1;
+            stage = dirt.getCrop().getGrowthStage();
+        }
+        append(((long) OP_CELL << 60) | ((long) x << 40) | ((long) y << 20)
+                | (SaveCodes.tileCode(tile.getType()) << 12) | (kind << 4) | stage);
+    }
+
+    @Override
+    public void onCropsAdvanced() {
+        append(((long) OP_DAY << 60) | (world.getDayCycle().getDayCount() & 0xFFFFFFFFL));
+    }
+
+    @Override
+    public void onChanged(int itemId, int quantity) {
+        append(((long) OP_ITEM << 60) | ((long) itemId << 32) | (quantity & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Queues a record for the writer. Never blocks on I/O.
+     */
+    private synchronized void append(long record) {
+        if (failed)
+            return;
+        if (pendingCount == pending.length)
+            pending = Arrays.copyOf(pending, pending.length * 2);
+        pending[pendingCount++] = record;
+        if (pendingCount == BATCH_RECORDS)
+            LockSupport.unpark(writer);
+    }
+
+    // ---------------- WRITER ----------------
+
+    private void runWriter() {
+        while (running && !failed) {
+            LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+            try {
+                flushPending();
+                if (channel.size() >= compactBytes)
+                    compact();
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * Swaps out the pending records and appends them to the journal file.
+     */
+    private void flushPending() throws IOException {
+        long[] batch;
+        int count;
+        synchronized (this) {
+            if (pendingCount == 0)
+                return;
+            batch = pending;
+            count = pendingCount;
+            // The game thread now owns the spare array; it only comes back once a batch is on disk
+            pending = spare != null ? spare : new long[BATCH_RECORDS];
+            spare = null;
+            pendingCount = 0;
+        }
+
+        if (writeBuffer.capacity() < count * Long.BYTES)
+            writeBuffer = ByteBuffer.allocateDirect(count * Long.BYTES);
+        writeBuffer.clear();
+        for (int i = 0; i < count; i++) {
+            long record = batch[i];
+            if ((int) (record >>> 60) == OP_ITEM) {
+                int itemId = (int) (record >>> 32) & 0xFF;
+                if (!named[itemId]) {
+                    putName(itemId);
+                    named[itemId] = true;
+                }
+            }
+            put(record);
+        }
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining())
+            channel.write(writeBuffer);
+        channel.force(false);
+
+        recordsWritten += count;
+        spare = batch;
+    }
+
+    /**
+     * Adds the name records binding an item id to its name.
+     */
+    private void putName(int itemId) {
+        byte[] name = ItemRegistry.name(itemId).getBytes(StandardCharsets.UTF_8);
+        int offset = 0;
+        do {
+            int length = Math.min(NAME_CHUNK, name.length - offset);
+            long record = ((long) OP_NAME << 60) | ((long) length << 56) | ((long) itemId << 48);
+            for (int b = 0; b < length; b++)
+                record |= (name[offset + b] & 0xFFL) << (40 - 8 * b);
+            offset += length;
+            if (offset < name.length)
+                record |= NAME_MORE;
+            put(record);
+        } while (offset < name.length);
+    }
+
+    private void put(long record) {
+        if (writeBuffer.remaining() < Long.BYTES) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(writeBuffer.capacity() * 2);
+            writeBuffer.flip();
+            larger.put(writeBuffer);
+            writeBuffer = larger;
+        }
+        writeBuffer.putLong(record);
+    }
+
+    /**
+     * Folds the journal into a new snapshot. The snapshot is replaced before
+     * the journal, and the old journal no longer matches the new snapshot's
+     * checksum, so a crash at any point leaves a consistent pair.
+     */
+    private void compact() throws IOException {
+        World merged = recover(snapshot, journal);
+
+        Path nextSnapshot = snapshot.resolveSibling(snapshot.getFileName() + ".next");
+        Path nextJournal = journal.resolveSibling(journal.getFileName() + ".next");
+        WorldSave.save(merged, nextSnapshot);
+        writeEmptyJournal(nextJournal, checksum(nextSnapshot));
+
+        Files.move(nextSnapshot, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel.close();
+        Files.move(nextJournal, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(journal, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        Arrays.fill(named, false);
+        compactions++;
+    }
+
+    /**
+     * Stops journaling after a write error. Records after a lost batch would
+     * leave a gap, so no more are taken and the journal is detached from its
+     * snapshot; the next start then loads the snapshot alone.
+     */
+    private void fail(Exception e) {
+        synchronized (this) {
+            failed = true;
+            pending = new long[0];
+            pendingCount = 0;
+        }
+        System.err.println("Autosave failed, journaling stopped: " + e);
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        try {
+            invalidate(journal);
+            System.err.println("The next start loads " + snapshot + " without the journal");
+        } catch (IOException ex) {
+            System.err.println("Could not invalidate journal " + journal + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Stops recording, writes everything still pending and closes the file.
+     *
+     * @throws IOException if the final write fails
+     */
+    @Override
+    public void close() throws IOException {
+        world.removeListener(this);
+        world.getPlayer().getInventory().setListener(null);
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failed)
+            return;
+        try {
+            flushPending();
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+            throw e;
+        }
+        channel.close();
+    }
+
+    // ---------------- REPLAY ----------------
+
+    /**
+     * Item ids of the journal being replayed, mapped to this game's ids, and
+     * the name being assembled from name records.
+     */
+    private static final class ItemMapping {
+        final int[] ids = new int[ItemRegistry.CAPACITY];
+        byte[] name = new byte[32];
+        int nameLength = 0;
+
+        ItemMapping() {
+            // Version 1 journals used the built-in ids, registered in the same order
+            for (int i = 0; i < ids.length; i++)
+                ids[i] = i < ItemRegistry.size() ? i : ItemRegistry.UNKNOWN;
+        }
+    }
+
+    private static void replay(World world, Path journal) throws IOException {
+        ItemMapping items = new ItemMapping();
+        try (FileChannel in = FileChannel.open(journal, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_RECORDS * Long.BYTES);
+            in.position(HEADER_SIZE);
+            while (in.read(buffer) > 0 || buffer.position() > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= Long.BYTES)
+                    apply(world, buffer.getLong(), items);
+                if (buffer.hasRemaining() && in.position() == in.size())
+                    break; // torn record at the end
+                buffer.compact();
+            }
+        }
+    }
+
+    private static void apply(World world, long record, ItemMapping items) throws IOException {
+        int op = (int) (record >>> 60);
+        switch (op) {
+            case OP_CELL -> {
+                int x = (int) (record >>> 40) & 0xFFFFF;
+                int y = (int) (record >>> 20) & 0xFFFFF;
+                int code = (int) (record >>> 12) & 0xFF;
+                int kind = (int) (record >>> 4) & 0xFF;
+                int stage = (int) record & 0xF;
+                TileType type = SaveCodes.tileType(code);
+                if (type == null)
+                    throw new IOException("Unknown tile code in journal: " + code);
+                applyCell(world, x, y, type, kind, stage);
+            }
+            case OP_DAY -> {
+                // Live days are one rollover each, skips are several
+                int days = (int) record - world.getDayCycle().getDayCount();
+                if (days > 0)
+                    world.advanceDays(days);
+            }
+            case OP_ITEM -> {
+                int itemId = items.ids[(int) (record >>> 32) & 0xFF];
+                if (itemId == ItemRegistry.UNKNOWN)
+                    throw new IOException("Item without a name in journal: " + Long.toHexString(record));
+                int quantity = (int) record;
+                Inventory inventory = world.getPlayer().getInventory();
+                int delta = quantity - inventory.get(itemId);
+                if (delta > 0)
+                    inventory.add(itemId, delta);
+                else if (delta < 0)
+                    inventory.remove(itemId, -delta);
+            }
+            case OP_NAME -> {
+                int length = (int) (record >>> 56) & 0x7;
+                if (length > NAME_CHUNK)
+                    throw new IOException("Invalid journal name record " + Long.toHexString(record));
+                if (items.nameLength + length > items.name.length)
+                    items.name = Arrays.copyOf(items.name, items.name.length * 2);
+                for (int b = 0; b < length; b++)
+                    items.name[items.nameLength++] = (byte) (record >>> (40 - 8 * b));
+                if ((record & NAME_MORE) == 0) {
+                    String name = new String(items.name, 0, items.nameLength, StandardCharsets.UTF_8);
+                    items.ids[(int) (record >>> 48) & 0xFF] = ItemRegistry.register(name);
+                    items.nameLength = 0;
+                }
+            }
+            default -> throw new IOException("Unknown journal record " + Long.toHexString(record));
+        }
+    }
+
+    private static void applyCell(World world, int x, int y, TileType type, int kind, int stage) {
+        if (type != TileType.DIRT) {
+            world.setTile(x, y, type == TileType.GRASS ? GrassTile.INSTANCE : WaterTile.INSTANCE);
+            return;
+        }
+
+        DirtTile dirt;
+        if (world.getTile(x, y) instanceof DirtTile existing) {
+            dirt = existing;
+        } else {
+            dirt = new DirtTile();
+            world.setTile(x, y, dirt);
+        }
+
+        if (kind == 0) {
+            dirt.removeCrop();
+            return;
+        }
+        Crop current = dirt.getCrop();
+        if (current != null && SaveCodes.cropCode(current) == kind - 1 && current.getGrowthStage() == stage)
+            return;
+        Crop crop = SaveCodes.newCrop(kind - 1);
+        if (crop != null) {
+            crop.restoreGrowth(stage, 0);
+            dirt.plant(crop);
+        }
+    }
+
+    // ---------------- FILES ----------------
+
+    private static void writeEmptyJournal(Path file, long base) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(base).flip();
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining())
+                out.write(header);
+            out.force(true);
+        }
+    }
+
+    /**
+     * Overwrites the snapshot checksum of a journal with {@link #NO_BASE}.
+     */
+    private static void invalidate(Path file) throws IOException {
+        ByteBuffer base = ByteBuffer.allocate(Long.BYTES).putLong(0, NO_BASE);
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            while (base.hasRemaining())
+                out.write(base, BASE_OFFSET + base.position());
+            out.force(true);
+        }
+    }
+
+    /**
+     * Returns the snapshot checksum a journal belongs to, or {@link #NO_BASE}
+     * if the journal is missing or not a journal.
+     */
+    private static long readBase(Path file) throws IOException {
+        if (!Files.exists(file))
+            return NO_BASE;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && in.read(header) > 0) {
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC)
+                return NO_BASE;
+            int version = header.getInt();
+            if (version < 1 || version > FORMAT_VERSION)
+                return NO_BASE;
+            return header.getLong();
+        }
+    }
+
+    private static long checksum(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+            while (in.read(buffer) > 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    // Getters
+    public long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    public int getCompactions() {
+        return compactions;
+    }
+}
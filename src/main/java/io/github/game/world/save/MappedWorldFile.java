@@ -0,0 +1,387 @@
+// ---------------------------
+// File: src/main/java/io/github/game/world/save/MappedWorldFile.java
+// ---------------------------
+package io.github.game.world.save;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import io.github.game.crops.Crop;
+import io.github.game.entities.Player;
+import io.github.game.util.Inventory;
+import io.github.game.util.ItemRegistry;
+import io.github.game.world.ChunkedTileMap;
+import io.github.game.world.DayCycle;
+import io.github.game.world.TileBacking;
+import io.github.game.world.World;
+import io.github.game.world.tiles.AbstractTile;
+import io.github.game.world.tiles.DirtTile;
+import io.github.game.world.tiles.GrassTile;
+import io.github.game.world.tiles.WaterTile;
+
+/**
+ * A world snapshot kept in a memory-mapped file and used directly as the
+ * world's tile storage.
+ * <p>
+ * Opening the file only maps it, so startup time does not depend on the map
+ * size; the operating system pages in the parts that are used. Chunks are
+ * loaded into memory the first time the game touches a dirt tile in them.
+ * Crops in the mapping are not touched on day rollover: the header records
+ * the day they are grown through, and a chunk catches up on the days since
+ * in closed form when it is loaded, so a rollover costs nothing however
+ * large the map is. {@link #flush(World)} brings the unloaded crops up to
+ * date the same way, writes loaded chunks, the day cycle, player position
+ * and inventory back, and only then moves the grown-through day forward, so
+ * the file stays consistent if the game is killed between flushes.
+ * <p>
+ * Layout: a {@value #META_SIZE} byte metadata block (header and inventory)
+ * followed by four row-major planes with one entry per tile: tile code,
+ * crop kind (crop code + 1, 0 for none), crop stage and float crop
+ * progress, with the frozen codes of {@link SaveCodes}. The inventory is
+ * stored by item name. Grass has code 0, so unwritten pages of a sparse
+ * file read as empty grass.
+ */
+public class MappedWorldFile implements TileBacking {
+
+    /** File signature, "FHMM". */
+    public static final int MAGIC = 0x46484D4D;
+
+    /** Current format version. */
+    public static final int FORMAT_VERSION = 2;
+
+    /** Bytes reserved for the header and inventory. */
+    public static final int META_SIZE = 1 << 14;
+
+    /** Header ints: magic, version, size, day cycle, player, grown-through day. */
+    private static final int HEADER_INTS = 11;
+
+    private final int width;
+    private final int height;
+    private final MappedByteBuffer meta;
+    private final MappedByteBuffer types;
+    private final MappedByteBuffer kinds;
+    private final MappedByteBuffer stages;
+    private final MappedByteBuffer progress;
+
+    /** Day the crops stored in the mapping are grown through. */
+    private int grownThroughDay;
+
+    /** Daily growth and final stage per kind (crop code + 1), index 0 unused. */
+    private final float[] kindGrowth = new float[256];
+    private final byte[] kindMaxStage = new byte[256];
+
+    private MappedWorldFile(FileChannel channel, int width, int height) throws IOException {
+        long tiles = (long) width * height;
+        if (width <= 0 || height <= 0 || tiles * Float.BYTES > Integer.MAX_VALUE)
+            throw new IOException("Unsupported map size " + width + "x" + height);
+
+        this.width = width;
+        this.height = height;
+        int n = (int) tiles;
+        long offset = 0;
+        meta = channel.map(FileChannel.MapMode.READ_WRITE, offset, META_SIZE);
+        offset += META_SIZE;
+        types = channel.map(FileChannel.MapMode.READ_WRITE, offset, n);
+        offset += n;
+        kinds = channel.map(FileChannel.MapMode.READ_WRITE, offset, n);
+        offset += n;
+        stages = channel.map(FileChannel.MapMode.READ_WRITE, offset, n);
+        offset += n;
+        progress = channel.map(FileChannel.MapMode.READ_WRITE, offset, (long) n * Float.BYTES);
+
+        for (int code = 0; code < kindGrowth.length - 1; code++) {
+            Crop prototype = SaveCodes.newCrop(code);
+            if (prototype != null) {
+                kindGrowth[code + 1] = (float) prototype.getGrowthPerDay();
+                kindMaxStage[code + 1] = (byte) prototype.getMaxStage();
+            }
+        }
+    }
+
+    /**
+     * Writes a world into a new mapped file, replacing any existing one.
+     *
+     * @param file   destination file
+     * @param source world to copy
+     * @return the mapped file, ready for {@link #openWorld()}
+     * @throws IOException if the file cannot be created
+     */
+    public static MappedWorldFile create(Path file, World source) throws IOException {
+        Files.deleteIfExists(file);
+        MappedWorldFile mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SPARSE)) {
+            mapped = new MappedWorldFile(channel, source.getWidth(), source.getHeight());
+        }
+
+        for (int y = 0; y < source.getHeight(); y++) {
+            for (int x = 0; x < source.getWidth(); x++)
+                mapped.writeCell(y * source.getWidth() + x, source.getTile(x, y));
+        }
+        mapped.writeMeta(source);
+        mapped.grownThroughDay = source.getDayCycle().getDayCount();
+        mapped.force();
+        return mapped;
+    }
+
+    /**
+     * Maps an existing file.
+     *
+     * @param file file written by {@link #create(Path, World)}
+     * @return the mapped file
+     * @throws IOException if the file cannot be mapped or is not a world file
+     */
+    public static MappedWorldFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_INTS * Integer.BYTES);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < 16 || header.getInt() != MAGIC)
+                throw new IOException("Not a mapped world file: " + file);
+            int version = header.getInt();
+            if (version != FORMAT_VERSION)
+                throw new IOException("Unsupported mapped world version " + version + " in " + file);
+            int width = header.getInt();
+            int height = header.getInt();
+
+            long expected = META_SIZE + (long) width * height * (3 + Float.BYTES);
+            if (channel.size() < expected)
+                throw new IOException("Truncated mapped world file: " + file);
+            return new MappedWorldFile(channel, width, height);
+        }
+    }
+
+    /**
+     * Creates a world backed by this file, with the saved day cycle, player
+     * position and inventory. No chunks are loaded yet.
+     *
+     * @return the backed world
+     * @throws IOException if the metadata is corrupt
+     */
+    public World openWorld() throws IOException {
+        meta.position(4 * Integer.BYTES);
+        int dayLength = meta.getInt();
+        int nightLength = meta.getInt();
+        int tick = meta.getInt();
+        int dayCount = meta.getInt();
+        int playerX = meta.getInt();
+        int playerY = meta.getInt();
+        grownThroughDay = meta.getInt();
+        if (grownThroughDay > dayCount)
+            throw new IOException("Corrupt mapped world header: crops grown through day "
+                    + grownThroughDay + " but the clock is at day " + dayCount);
+
+        World world = new World(width, height, dayLength, nightLength, this);
+        try {
+            world.getDayCycle().restore(tick, dayCount);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt mapped world header: " + e.getMessage(), e);
+        }
+        world.getPlayer().setPosition(playerX, playerY);
+        readInventory(world.getPlayer().getInventory());
+        return world;
+    }
+
+    /**
+     * Brings the crops of unloaded chunks up to the current day, writes every
+     * loaded chunk and the world metadata back to the file and forces it to
+     * disk. Scans the whole map, so it is meant for saving, not for every
+     * frame.
+     *
+     * @param world world opened from this file; must not be updated concurrently
+     * @throws IOException if the metadata does not fit
+     */
+    public void flush(World world) throws IOException {
+        ChunkedTileMap map = world.getTileMap();
+        int days = world.getDayCycle().getDayCount() - grownThroughDay;
+        for (int cy = 0; cy < map.getChunksY(); cy++) {
+            for (int cx = 0; cx < map.getChunksX(); cx++) {
+                int originX = cx << ChunkedTileMap.CHUNK_SHIFT;
+                int originY = cy << ChunkedTileMap.CHUNK_SHIFT;
+                int endX = Math.min(originX + ChunkedTileMap.CHUNK_SIZE, width);
+                int endY = Math.min(originY + ChunkedTileMap.CHUNK_SIZE, height);
+                boolean loaded = map.isChunkAllocated(cx, cy);
+                if (!loaded && days <= 0)
+                    continue;
+                for (int y = originY; y < endY; y++) {
+                    for (int x = originX; x < endX; x++) {
+                        int i = y * width + x;
+                        if (loaded) {
+                            writeCell(i, map.get(x, y));
+                        } else {
+                            int kind = kinds.get(i) & 0xFF;
+                            if (kind != 0)
+                                advanceCell(i, kind, days);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Cells first, then the day they are valid for
+        force();
+        writeMeta(world);
+        meta.force();
+        grownThroughDay = world.getDayCycle().getDayCount();
+    }
+
+    private void force() {
+        meta.force();
+        types.force();
+        kinds.force();
+        stages.force();
+        progress.force();
+    }
+
+    // ---------------- CELLS ----------------
+
+    /**
+     * Writes one tile. Unchanged bytes are not written, which keeps pages of
+     * a new sparse file unallocated and untouched pages clean on flush.
+     */
+    private void writeCell(int i, AbstractTile tile) {
+        byte type = (byte) SaveCodes.tileCode(tile.getType());
+        if (types.get(i) != type)
+            types.put(i, type);
+        Crop crop = tile instanceof DirtTile dirt ? dirt.getCrop() : null;
+        int code = crop != null ? SaveCodes.cropCode(crop) : SaveCodes.UNKNOWN;
+        if (code != SaveCodes.UNKNOWN) {
+            kinds.put(i, (byte) (code + 1));
+            stages.put(i, (byte) crop.getGrowthStage());
+            progress.putFloat(i * Float.BYTES, (float) crop.getGrowthProgress());
+        } else if (kinds.get(i) != 0) {
+            kinds.put(i, (byte) 0);
+            stages.put(i, (byte) 0);
+            progress.putFloat(i * Float.BYTES, 0f);
+        }
+    }
+
+    @Override
+    public AbstractTile tileAt(int x, int y) {
+        return switch (types.get(y * width + x)) {
+            case SaveCodes.DIRT -> new DirtTile();
+            case SaveCodes.WATER -> WaterTile.INSTANCE;
+            default -> GrassTile.INSTANCE;
+        };
+    }
+
+    @Override
+    public boolean hasState(int x, int y) {
+        return types.get(y * width + x) == SaveCodes.DIRT;
+    }
+
+    /**
+     * Plants the stored crops of a chunk and grows them by the days since the
+     * mapping was last brought up to date, through the crop store so the
+     * rounding matches crops that were loaded all along.
+     */
+    @Override
+    public void loadChunk(World world, int chunkX, int chunkY) {
+        ChunkedTileMap map = world.getTileMap();
+        int elapsed = world.getDayCycle().getDayCount() - grownThroughDay;
+        int originX = chunkX << ChunkedTileMap.CHUNK_SHIFT;
+        int originY = chunkY << ChunkedTileMap.CHUNK_SHIFT;
+        int endX = Math.min(originX + ChunkedTileMap.CHUNK_SIZE, width);
+        int endY = Math.min(originY + ChunkedTileMap.CHUNK_SIZE, height);
+
+        for (int y = originY; y < endY; y++) {
+            for (int x = originX; x < endX; x++) {
+                if (!(map.get(x, y) instanceof DirtTile dirt))
+                    continue;
+                int i = y * width + x;
+                int kind = kinds.get(i) & 0xFF;
+                Crop crop = kind != 0 ? SaveCodes.newCrop(kind - 1) : null;
+                if (crop != null) {
+                    crop.restoreGrowth(stages.get(i), progress.getFloat(i * Float.BYTES));
+                    dirt.plant(crop);
+                }
+                dirt.attach(world, x, y);
+                if (crop != null && elapsed > 0)
+                    crop.advanceDays(elapsed);
+            }
+        }
+    }
+
+    /**
+     * Grows a stored crop by several days in one step, with the same float
+     * expression as {@link io.github.game.crops.CropStore}.
+     */
+    private void advanceCell(int i, int kind, int days) {
+        int s = stages.get(i);
+        float p = progress.getFloat(i * Float.BYTES) + kindGrowth[kind] * days;
+        int steps = Math.min((int) p, kindMaxStage[kind] - s);
+        stages.put(i, (byte) (s + steps));
+        progress.putFloat(i * Float.BYTES, p - steps);
+    }
+
+    // ---------------- METADATA ----------------
+
+    private void writeMeta(World world) throws IOException {
+        DayCycle cycle = world.getDayCycle();
+        Player player = world.getPlayer();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(cycle.getDayLength());
+            out.writeInt(cycle.getNightLength());
+            out.writeInt(cycle.getCurrentTick());
+            out.writeInt(cycle.getDayCount());
+            out.writeInt(player.getX());
+            out.writeInt(player.getY());
+            out.writeInt(cycle.getDayCount()); // crops are grown through today
+
+            int[] counts = new int[ItemRegistry.size()];
+            player.getInventory().snapshot(counts);
+            int owned = 0;
+            for (int qty : counts) {
+                if (qty != 0)
+                    owned++;
+            }
+            out.writeInt(owned);
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] != 0) {
+                    out.writeUTF(ItemRegistry.name(id));
+                    out.writeInt(counts[id]);
+                }
+            }
+        }
+
+        if (bytes.size() > META_SIZE)
+            throw new IOException("World metadata exceeds " + META_SIZE + " bytes");
+        meta.put(0, bytes.toByteArray());
+    }
+
+    private void readInventory(Inventory inventory) throws IOException {
+        byte[] block = new byte[META_SIZE - HEADER_INTS * Integer.BYTES];
+        meta.get(HEADER_INTS * Integer.BYTES, block);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(block))) {
+            int n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                String name = in.readUTF();
+                inventory.add(name, in.readInt());
+            }
+        }
+    }
+
+    // Getters
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,99 @@
+// ---------------------------
+// File: src/main/java/io/github/game/world/save/SaveCodes.java
+// ---------------------------
+package io.github.game.world.save;
+
+import io.github.game.crops.Crop;
+import io.github.game.crops.Tomato;
+import io.github.game.crops.Wheat;
+import io.github.game.world.tiles.TileType;
+
+/**
+ * Frozen numeric codes for tile types and crop kinds, shared by every file
+ * format in this package: {@link WorldSave}, {@link MappedWorldFile} and
+ * {@link ChangeJournal}.
+ * <p>
+ * Enum ordinals and {@link io.github.game.util.ItemRegistry} ids follow
+ * declaration and registration order, so adding or reordering a tile type or
+ * item would silently change what old files mean. Files store the codes
+ * below instead. A code is never changed or reused; a new tile type or crop
+ * gets the next free one. Items in the inventory are stored by name, not by
+ * code.
+ * <p>
+ * The codes equal the ordinals and item ids at the time they were frozen,
+ * so files written before keep their meaning.
+ */
+final class SaveCodes {
+
+    // Tile types. Grass must stay 0: unwritten mapped pages read as grass.
+    static final int GRASS = 0;
+    static final int DIRT = 1;
+    static final int WATER = 2;
+
+    // Crop kinds
+    static final int WHEAT = 0;
+    static final int TOMATO = 1;
+
+    /** Returned for a crop or code this version does not know. */
+    static final int UNKNOWN = -1;
+
+    private SaveCodes() {
+    }
+
+    /**
+     * Returns the code of a tile type.
+     *
+     * @param type tile type
+     * @return frozen tile code
+     */
+    static int tileCode(TileType type) {
+        return switch (type) {
+            case GRASS -> GRASS;
+            case DIRT -> DIRT;
+            case WATER -> WATER;
+        };
+    }
+
+    /**
+     * Returns the tile type of a code.
+     *
+     * @param code stored tile code
+     * @return tile type, or null if the code is unknown
+     */
+    static TileType tileType(int code) {
+        return switch (code) {
+            case GRASS -> TileType.GRASS;
+            case DIRT -> TileType.DIRT;
+            case WATER -> TileType.WATER;
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns the code of a crop's kind.
+     *
+     * @param crop crop
+     * @return frozen crop code, or {@link #UNKNOWN}
+     */
+    static int cropCode(Crop crop) {
+        if (crop instanceof Wheat)
+            return WHEAT;
+        if (crop instanceof Tomato)
+            return TOMATO;
+        return UNKNOWN;
+    }
+
+    /**
+     * Creates an unplanted crop of the kind with the given code.
+     *
+     * @param code stored crop code
+     * @return new crop, or null if the code is unknown
+     */
+    static Crop newCrop(int code) {
+        return switch (code) {
+            case WHEAT -> new Wheat();
+            case TOMATO -> new Tomato();
+            default -> null;
+        };
+    }
+}
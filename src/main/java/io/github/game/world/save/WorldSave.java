@@ -0,0 +1,401 @@
+// ---------------------------
+// File: src/main/java/io/github/game/world/save/WorldSave.java
+// ---------------------------
+package io.github.game.world.save;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import io.github.game.crops.Crop;
+import io.github.game.entities.Player;
+import io.github.game.util.Inventory;
+import io.github.game.util.ItemRegistry;
+import io.github.game.world.ChunkedTileMap;
+import io.github.game.world.DayCycle;
+import io.github.game.world.World;
+import io.github.game.world.tiles.AbstractTile;
+import io.github.game.world.tiles.DirtTile;
+import io.github.game.world.tiles.GrassTile;
+import io.github.game.world.tiles.TileType;
+import io.github.game.world.tiles.WaterTile;
+
+/**
+ * Saves and loads the world in a compact, versioned binary format.
+ * <p>
+ * Layout (big-endian, varints are unsigned LEB128):
+ * <ol>
+ * <li>header: magic, format version, world size, day and night length,
+ * current tick and day, player tile position</li>
+ * <li>tiles: one entry per {@link ChunkedTileMap} chunk in row-major chunk
+ * order; a 0 byte for a chunk that still holds only generated defaults, or a
+ * 1 byte followed by row-major runs of {@code (tile code byte, varint
+ * length)} over the chunk's tiles</li>
+ * <li>crops: varint count, then per crop sorted by position a varint
+ * position delta, crop code byte, stage byte and float progress</li>
+ * <li>inventory: varint count, then {@code (UTF name, int quantity)} for
+ * every item the player owns</li>
+ * </ol>
+ * Tile types and crops are stored by their frozen {@link SaveCodes}, items by
+ * name, so reordering {@link TileType} or {@link ItemRegistry} does not change
+ * what a save means. Untouched chunks are neither written nor visited on load, and loading only
+ * creates objects for tiles that differ from the generated default, so
+ * untouched grass and water cost nothing.
+ */
+public final class WorldSave {
+
+    /** File signature, "FHSV". */
+    public static final int MAGIC = 0x46485356;
+
+    /** Current format version; bumped on incompatible layout changes. */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private WorldSave() {
+    }
+
+    /**
+     * Writes the world to a file. The data goes to a temporary file first
+     * and replaces the target in one move, so a crash never leaves a
+     * half-written save behind.
+     *
+     * @param world world to save; must not be updated concurrently
+     * @param file  destination file
+     * @throws IOException if writing fails
+     */
+    public static void save(World world, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+            write(world, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the world in the save format to a stream, e.g. to embed it in
+     * another file. The stream is flushed but not closed.
+     *
+     * @param world world to save; must not be updated concurrently
+     * @param out   destination stream
+     * @throws IOException if writing fails
+     */
+    public static void write(World world, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        writeHeader(world, data);
+        writeTiles(world, data);
+        writeCrops(world, data);
+        writeInventory(world.getPlayer().getInventory(), data);
+        data.flush();
+    }
+
+    /**
+     * Reads a world from a file written by {@link #save(World, Path)}.
+     *
+     * @param file save file
+     * @return the restored world
+     * @throws IOException if the file cannot be read or is not a valid save
+     */
+    public static World load(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+            return read(in, file.toString());
+        }
+    }
+
+    /**
+     * Reads a world written by {@link #write(World, OutputStream)}. Reads
+     * exactly the bytes of the save and leaves the stream open.
+     *
+     * @param in source stream
+     * @return the restored world
+     * @throws IOException if the stream cannot be read or is not a valid save
+     */
+    public static World read(InputStream in) throws IOException {
+        return read(in, "stream");
+    }
+
+    private static World read(InputStream stream, String source) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        try {
+            if (in.readInt() != MAGIC)
+                throw new IOException("Not a save file: " + source);
+            int version = in.readUnsignedShort();
+            if (version != FORMAT_VERSION)
+                throw new IOException("Unsupported save version " + version + " in " + source);
+
+            int width = in.readInt();
+            int height = in.readInt();
+            int dayLength = in.readInt();
+            int nightLength = in.readInt();
+            int tick = in.readInt();
+            int dayCount = in.readInt();
+            int playerX = in.readInt();
+            int playerY = in.readInt();
+
+            World world = new World(width, height, dayLength, nightLength);
+            world.getDayCycle().restore(tick, dayCount);
+            world.getPlayer().setPosition(playerX, playerY);
+
+            readTiles(world, in);
+            readCrops(world, in);
+            readInventory(world.getPlayer().getInventory(), in);
+            return world;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt save file " + source + ": " + e.getMessage(), e);
+        }
+    }
+
+    // ---------------- HEADER ----------------
+
+    private static void writeHeader(World world, DataOutputStream out) throws IOException {
+        DayCycle cycle = world.getDayCycle();
+        Player player = world.getPlayer();
+
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeInt(world.getWidth());
+        out.writeInt(world.getHeight());
+        out.writeInt(cycle.getDayLength());
+        out.writeInt(cycle.getNightLength());
+        out.writeInt(cycle.getCurrentTick());
+        out.writeInt(cycle.getDayCount());
+        out.writeInt(player.getX());
+        out.writeInt(player.getY());
+    }
+
+    // ---------------- TILES ----------------
+
+    private static void writeTiles(World world, DataOutputStream out) throws IOException {
+        ChunkedTileMap map = world.getTileMap();
+        for (int cy = 0; cy < map.getChunksY(); cy++) {
+            for (int cx = 0; cx < map.getChunksX(); cx++) {
+                if (!map.isChunkAllocated(cx, cy)) {
+                    out.writeByte(0);
+                    continue;
+                }
+                out.writeByte(1);
+                writeChunk(world, cx, cy, out);
+            }
+        }
+    }
+
+    private static void writeChunk(World world, int cx, int cy, DataOutputStream out) throws IOException {
+        int originX = cx << ChunkedTileMap.CHUNK_SHIFT;
+        int originY = cy << ChunkedTileMap.CHUNK_SHIFT;
+        int endX = Math.min(originX + ChunkedTileMap.CHUNK_SIZE, world.getWidth());
+        int endY = Math.min(originY + ChunkedTileMap.CHUNK_SIZE, world.getHeight());
+
+        TileType runType = null;
+        int runLength = 0;
+        for (int y = originY; y < endY; y++) {
+            for (int x = originX; x < endX; x++) {
+                TileType type = world.getTile(x, y).getType();
+                if (type == runType) {
+                    runLength++;
+                    continue;
+                }
+                if (runType != null)
+                    writeRun(out, runType, runLength);
+                runType = type;
+                runLength = 1;
+            }
+        }
+        writeRun(out, runType, runLength);
+    }
+
+    private static void writeRun(DataOutputStream out, TileType type, int length) throws IOException {
+        out.writeByte(SaveCodes.tileCode(type));
+        writeVarInt(out, length);
+    }
+
+    private static void readTiles(World world, DataInputStream in) throws IOException {
+        ChunkedTileMap map = world.getTileMap();
+        for (int cy = 0; cy < map.getChunksY(); cy++) {
+            for (int cx = 0; cx < map.getChunksX(); cx++) {
+                int flag = in.readUnsignedByte();
+                if (flag == 1)
+                    readChunk(world, cx, cy, in);
+                else if (flag != 0)
+                    throw new IOException("Invalid chunk flag " + flag);
+            }
+        }
+    }
+
+    private static void readChunk(World world, int cx, int cy, DataInputStream in) throws IOException {
+        int originX = cx << ChunkedTileMap.CHUNK_SHIFT;
+        int originY = cy << ChunkedTileMap.CHUNK_SHIFT;
+        int endX = Math.min(originX + ChunkedTileMap.CHUNK_SIZE, world.getWidth());
+        int endY = Math.min(originY + ChunkedTileMap.CHUNK_SIZE, world.getHeight());
+        int remaining = (endX - originX) * (endY - originY);
+        int x = originX, y = originY;
+
+        while (remaining > 0) {
+            int code = in.readUnsignedByte();
+            TileType type = SaveCodes.tileType(code);
+            if (type == null)
+                throw new IOException("Unknown tile code " + code);
+            int length = readVarInt(in);
+            if (length <= 0 || length > remaining)
+                throw new IOException("Invalid tile run length " + length);
+            remaining -= length;
+
+            for (int i = 0; i < length; i++) {
+                AbstractTile current = world.getTile(x, y);
+                if (current.getType() != type)
+                    world.setTile(x, y, newTile(type));
+                if (++x == endX) {
+                    x = originX;
+                    y++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tile for a type: the shared instance for grass and water,
+     * a new one for dirt since each dirt tile owns its crop.
+     */
+    private static AbstractTile newTile(TileType type) {
+        return switch (type) {
+            case GRASS -> GrassTile.INSTANCE;
+            case WATER -> WaterTile.INSTANCE;
+            case DIRT -> new DirtTile();
+        };
+    }
+
+    // ---------------- CROPS ----------------
+
+    private static void writeCrops(World world, DataOutputStream out) throws IOException {
+        int width = world.getWidth();
+
+        // Sorted positions keep the deltas small, usually a single byte
+        long[] positions = new long[world.getPlantedCount()];
+        int n = 0;
+        for (DirtTile tile : world.getPlantedTiles())
+            positions[n++] = (long) tile.getY() * width + tile.getX();
+        Arrays.sort(positions);
+
+        writeVarInt(out, n);
+        long previous = 0;
+        for (int i = 0; i < n; i++) {
+            long pos = positions[i];
+            DirtTile tile = (DirtTile) world.getTile((int) (pos % width), (int) (pos / width));
+            Crop crop = tile.getCrop();
+
+            int code = SaveCodes.cropCode(crop);
+            if (code == SaveCodes.UNKNOWN)
+                throw new IOException("No save code for crop " + crop.getClass().getName());
+
+            writeVarLong(out, pos - previous);
+            out.writeByte(code);
+            out.writeByte(crop.getGrowthStage());
+            out.writeFloat((float) crop.getGrowthProgress());
+            previous = pos;
+        }
+    }
+
+    private static void readCrops(World world, DataInputStream in) throws IOException {
+        int width = world.getWidth();
+        int n = readVarInt(in);
+        long pos = 0;
+
+        for (int i = 0; i < n; i++) {
+            pos += readVarLong(in);
+            int code = in.readUnsignedByte();
+            int stage = in.readUnsignedByte();
+            float progress = in.readFloat();
+
+            AbstractTile tile = world.getTile((int) (pos % width), (int) (pos / width));
+            if (!(tile instanceof DirtTile dirt))
+                throw new IOException("Crop saved on a non-dirt tile at position " + pos);
+
+            Crop crop = newCrop(code);
+            crop.restoreGrowth(stage, progress);
+            dirt.plant(crop);
+        }
+    }
+
+    private static Crop newCrop(int code) throws IOException {
+        Crop crop = SaveCodes.newCrop(code);
+        if (crop == null)
+            throw new IOException("Unknown crop code " + code);
+        return crop;
+    }
+
+    // ---------------- INVENTORY ----------------
+
+    private static void writeInventory(Inventory inventory, DataOutputStream out) throws IOException {
+        int[] counts = new int[ItemRegistry.size()];
+        inventory.snapshot(counts);
+
+        int owned = 0;
+        for (int qty : counts) {
+            if (qty != 0)
+                owned++;
+        }
+
+        // Items are stored by name; ids follow registration order
+        writeVarInt(out, owned);
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] != 0) {
+                out.writeUTF(ItemRegistry.name(id));
+                out.writeInt(counts[id]);
+            }
+        }
+    }
+
+    private static void readInventory(Inventory inventory, DataInputStream in) throws IOException {
+        int n = readVarInt(in);
+        for (int i = 0; i < n; i++) {
+            String name = in.readUTF();
+            inventory.add(name, in.readInt());
+        }
+    }
+
+    // ---------------- VARINTS ----------------
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        long value = readVarLong(in);
+        if (value > Integer.MAX_VALUE)
+            throw new IOException("Varint out of range: " + value);
+        return (int) value;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -9,14 +9,30 @@ import io.github.game.world.World;
 /**
  * Base class for all tiles in the game world.
  * Tiles define walkability, type, and interaction behavior.
+ * <p>
+ * Tiles without per-cell state are shared flyweights (see
+ * {@link GrassTile#INSTANCE} and {@link WaterTile#INSTANCE}), so the same
+ * object may sit at many positions. Subclasses that keep state, like
+ * {@link DirtTile}, must be allocated once per cell.
  */
 public abstract class AbstractTile {
 
     /** Whether the tile can be walked on by the player. */
-    protected boolean walkable = true;
+    private final boolean walkable;
 
     /** Type identifier for this tile. */
-    protected TileType type;
+    private final TileType type;
+
+    /**
+     * Constructs a tile with fixed type and walkability.
+     *
+     * @param type     tile type
+     * @param walkable whether the player can walk on it
+     */
+    protected AbstractTile(TileType type, boolean walkable) {
+        this.type = type;
+        this.walkable = walkable;
+    }
 
     /**
      * Returns whether this tile is walkable.
@@ -7,26 +7,56 @@ import io.github.game.crops.Crop;
 import io.github.game.entities.Player;
 import io.github.game.entities.SeedTool;
 import io.github.game.entities.Tool;
-import io.github.game.util.ResourceManager;
+import io.github.game.jfr.HarvestEvent;
+import io.github.game.util.ItemRegistry;
 import io.github.game.world.World;
-import javafx.scene.image.Image;
 
 /**
  * Represents a farmable dirt tile.
  * Dirt tiles can hold crops and support planting and harvesting.
+ * Because each one owns a crop slot, a new instance is created per tilled cell.
  */
 public class DirtTile extends AbstractTile implements io.github.game.world.interact.Interactable {
     private Crop crop;
 
+    /** World this tile was placed in, kept informed about planted crops. */
+    private World world;
+    private int x, y;
+
     /**
      * Constructs an empty dirt tile.
      */
     public DirtTile() {
-        this.walkable = true;
-        this.type = TileType.DIRT;
+        super(TileType.DIRT, true);
         this.crop = null;
     }
 
+    /**
+     * Binds this tile to the world it was placed in.
+     * Called by {@link World#setTile}; registers the crop if one is already
+     * planted.
+     *
+     * @param world owning world
+     * @param x     tile x-coordinate
+     * @param y     tile y-coordinate
+     */
+    public void attach(World world, int x, int y) {
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        if (crop != null)
+            world.registerCrop(this);
+    }
+
+    /**
+     * Unbinds this tile from its world when it is replaced.
+     */
+    public void detach() {
+        if (world != null && crop != null)
+            world.unregisterCrop(this);
+        world = null;
+    }
+
     /**
      * Advances crop growth when a new in-game day begins.
      */
@@ -60,14 +90,37 @@ public class DirtTile extends AbstractTile implements io.github.game.world.inter
      * @param c crop to plant
      */
     public void plant(Crop c) {
+        if (c == null) {
+            removeCrop();
+            return;
+        }
+        if (world != null && crop != null)
+            world.unregisterCrop(this);
         this.crop = c;
+        if (world != null)
+            world.registerCrop(this);
     }
 
     /**
      * Removes the planted crop.
      */
     public void removeCrop() {
+        if (crop == null)
+            return;
+        if (world != null)
+            world.unregisterCrop(this);
         this.crop = null;
+        if (world != null)
+            world.notifyTileChanged(x, y);
+    }
+
+    // Position of the tile once attached to a world
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
     }
 
     /**
@@ -79,7 +132,7 @@ public class DirtTile extends AbstractTile implements io.github.game.world.inter
 
         // Plant seeds
         if (crop == null && tool instanceof SeedTool seedTool) {
-            crop = seedTool.createCrop();
+            plant(seedTool.createCrop());
             return;
         }
 
@@ -87,25 +140,22 @@ public class DirtTile extends AbstractTile implements io.github.game.world.inter
         if (crop != null && crop.isFullyGrown()) {
             int yield = crop.getHarvestYield();
 
-            String item = crop.getClass().getSimpleName().toLowerCase();
+            int item = crop.getItemId();
             player.getInventory().add(item, yield);
 
-            // Trigger flying animation
-            Image img = switch (item) {
-                case "wheat" -> ResourceManager.loadImage("crops/wheat_stage_5.png");
-                case "tomato" -> ResourceManager.loadImage("crops/tomato_stage_5.png");
-                default -> null;
-            };
+            // Trigger flying animation (no-op when nothing is listening)
+            player.requestPickupAnimation(x, y, item);
 
-            if (img != null)
-                player.requestPickupAnimation(x, y, item, img);
+            HarvestEvent event = new HarvestEvent();
+            if (event.isEnabled()) {
+                event.x = x;
+                event.y = y;
+                event.item = ItemRegistry.name(item);
+                event.quantity = yield;
+                event.commit();
+            }
 
-            crop = null;
+            removeCrop();
         }
     }
-
-    @Override
-    public TileType getType() {
-        return TileType.DIRT;
-    }
 }
@@ -10,11 +10,15 @@ import io.github.game.world.World;
 /**
  * Represents a grass tile.
  * Grass can be tilled into dirt using a hoe.
+ * Grass has no per-cell state, so a single shared instance is used.
  */
-public class GrassTile extends AbstractTile {
-    public GrassTile() {
-        this.walkable = true;
-        this.type = TileType.GRASS;
+public final class GrassTile extends AbstractTile {
+
+    /** Shared instance placed at every grass position. */
+    public static final GrassTile INSTANCE = new GrassTile();
+
+    private GrassTile() {
+        super(TileType.GRASS, true);
     }
 
     /**
@@ -33,9 +37,4 @@ public class GrassTile extends AbstractTile {
             }
         }
     }
-
-    @Override
-    public TileType getType() {
-        return TileType.GRASS;
-    }
 }
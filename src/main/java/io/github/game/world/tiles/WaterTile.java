@@ -9,20 +9,19 @@ import io.github.game.world.World;
 /**
  * Represents a water tile.
  * Water tiles are not walkable and cannot be interacted with.
+ * Water has no per-cell state, so a single shared instance is used.
  */
-public class WaterTile extends AbstractTile {
-    public WaterTile() {
-        this.walkable = false;
-        this.type = TileType.WATER;
+public final class WaterTile extends AbstractTile {
+
+    /** Shared instance placed at every water position. */
+    public static final WaterTile INSTANCE = new WaterTile();
+
+    private WaterTile() {
+        super(TileType.WATER, false);
     }
 
     @Override
     public void onInteract(Player player, World world, int x, int y) {
         // no interaction yet
     }
-
-    @Override
-    public TileType getType() {
-        return TileType.WATER;
-    }
 }
\ No newline at end of file